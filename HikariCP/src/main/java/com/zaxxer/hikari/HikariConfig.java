@@ -35,6 +35,10 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.security.AccessControlException;
 import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
@@ -76,6 +80,10 @@ public class HikariConfig implements HikariConfigMXBean
    // Properties NOT changeable at runtime
    //
    private long initializationFailTimeout;
+   private long backgroundValidationInterval;
+   private int preparedStatementCacheSize;
+   private int connectionCreationConcurrency;
+   private int connectionProfilerSampleRate;
    private String connectionInitSql;
    private String connectionTestQuery;
    private String dataSourceClassName;
@@ -90,8 +98,12 @@ public class HikariConfig implements HikariConfigMXBean
    private boolean isIsolateInternalQueries;
    private boolean isRegisterMbeans;
    private boolean isAllowPoolSuspension;
+   private boolean isFairBorrowing;
+   private boolean isAdaptivePoolSizing;
+   private boolean isRecordLatencyHistograms;
    private DataSource dataSource;
    private Properties dataSourceProperties;
+   private List<HikariConfig> replicas;
    private ThreadFactory threadFactory;
    private ScheduledExecutorService scheduledExecutor;
    private MetricsTrackerFactory metricsTrackerFactory;
@@ -107,6 +119,7 @@ public class HikariConfig implements HikariConfigMXBean
    public HikariConfig()
    {
       dataSourceProperties = new Properties();
+      replicas = new ArrayList<>();
       healthCheckProperties = new Properties();
 
       minIdle = -1;
@@ -116,6 +129,7 @@ public class HikariConfig implements HikariConfigMXBean
       validationTimeout = VALIDATION_TIMEOUT;
       idleTimeout = IDLE_TIMEOUT;
       initializationFailTimeout = 1;
+      connectionCreationConcurrency = 1;
       isAutoCommit = true;
 
       String systemProp = System.getProperty("hikaricp.configurationFile");
@@ -550,6 +564,223 @@ public class HikariConfig implements HikariConfigMXBean
       this.isAllowPoolSuspension = isAllowPoolSuspension;
    }
 
+   /**
+    * Determine whether connections are borrowed in "fair" mode.
+    *
+    * @return {@code true} if waiting threads are served in FIFO order with direct hand-off, {@code false} if not
+    */
+   public boolean isFairBorrowing()
+   {
+      return isFairBorrowing;
+   }
+
+   /**
+    * Set whether connections are borrowed in "fair" mode.  In fair mode threads waiting for a connection are
+    * parked in a FIFO queue and returned connections are handed directly to the longest waiting thread, without
+    * the ThreadLocal connection lists and spin/yield hand-off of the default mode.  This is better suited to
+    * applications that borrow from very large numbers of threads, such as virtual threads, at the cost of some
+    * throughput when few threads compete for connections.  Defaults to {@code false}.
+    *
+    * @param isFairBorrowing {@code true} to enable fair borrowing, {@code false} for the default behavior
+    */
+   public void setFairBorrowing(boolean isFairBorrowing)
+   {
+      checkIfSealed();
+      this.isFairBorrowing = isFairBorrowing;
+   }
+
+   /**
+    * Determine whether the pool size is adjusted adaptively.
+    *
+    * @return {@code true} if adaptive pool sizing is enabled, {@code false} if not
+    */
+   public boolean isAdaptivePoolSizing()
+   {
+      return isAdaptivePoolSizing;
+   }
+
+   /**
+    * Set whether the pool size is adjusted adaptively.  When enabled the pool holds at most a target number of
+    * connections, between {@code minimumIdle} (or one) and {@code maximumPoolSize}.  The target is raised while
+    * threads wait for connections and lowered, retiring idle connections, when the measured borrow rate and
+    * connection usage time show that fewer connections are needed.  The current target is exposed through
+    * {@link HikariPoolMXBean#getTargetPoolSize()}.  Defaults to {@code false}.
+    *
+    * @param isAdaptivePoolSizing {@code true} to enable adaptive pool sizing, {@code false} for a fixed maximum
+    */
+   public void setAdaptivePoolSizing(boolean isAdaptivePoolSizing)
+   {
+      checkIfSealed();
+      this.isAdaptivePoolSizing = isAdaptivePoolSizing;
+   }
+
+   /**
+    * Add the configuration of a read replica.  A {@link HikariDataSource} started with replicas runs a separate
+    * pool for each of them, alongside the primary pool, and serves {@link HikariDataSource#getReadOnlyConnection()}
+    * from the least loaded replica pool.  Each replica configuration is validated and started as an independent
+    * pool, so it needs its own JDBC URL or DataSource, and should normally be {@code readOnly}.  Its
+    * {@code connectionTimeout} bounds how long a read waits for the replica before failing over to the primary.
+    *
+    * @param replica the configuration of the replica pool
+    */
+   public void addReplica(HikariConfig replica)
+   {
+      checkIfSealed();
+      replicas.add(Objects.requireNonNull(replica, "replica"));
+   }
+
+   /**
+    * Get the read replica configurations.
+    *
+    * @return an unmodifiable list of the replica configurations, empty if none were added
+    */
+   public List<HikariConfig> getReplicas()
+   {
+      return Collections.unmodifiableList(replicas);
+   }
+
+   /**
+    * Get the interval at which idle connections are validated in the background.
+    *
+    * @return the background validation interval in milliseconds, {@code 0} if background validation is disabled
+    */
+   public long getBackgroundValidationInterval()
+   {
+      return backgroundValidationInterval;
+   }
+
+   /**
+    * Set the interval at which idle connections are validated in the background.  When enabled, the house keeping
+    * thread validates idle connections that have been neither used nor validated recently, and closes those that
+    * are dead, while connections used or validated within twice this interval are handed out without validation.
+    * This moves validation off the borrow path at the cost of detecting a dead connection up to twice this
+    * interval late.  Values less than 1000ms disable background validation.  Defaults to {@code 0} (disabled).
+    *
+    * @param backgroundValidationIntervalMs the background validation interval in milliseconds, {@code 0} to disable
+    */
+   public void setBackgroundValidationInterval(long backgroundValidationIntervalMs)
+   {
+      checkIfSealed();
+      if (backgroundValidationIntervalMs < 0) {
+         throw new IllegalArgumentException("backgroundValidationInterval cannot be negative");
+      }
+      this.backgroundValidationInterval = backgroundValidationIntervalMs;
+   }
+
+   /**
+    * Determine whether the pool records native latency histograms.
+    *
+    * @return {@code true} if latency histograms are recorded, {@code false} if not
+    */
+   public boolean isRecordLatencyHistograms()
+   {
+      return isRecordLatencyHistograms;
+   }
+
+   /**
+    * Set whether the pool records connection acquire, usage and creation times in built-in, lock-free latency
+    * histograms.  The p50, p90, p99, p99.9 and maximum of each are readable through {@link HikariPoolMXBean},
+    * without any metrics library, and are recorded in addition to any configured metrics tracker.  Defaults to
+    * {@code false}.
+    *
+    * @param isRecordLatencyHistograms {@code true} to record latency histograms, {@code false} otherwise
+    */
+   public void setRecordLatencyHistograms(boolean isRecordLatencyHistograms)
+   {
+      checkIfSealed();
+      this.isRecordLatencyHistograms = isRecordLatencyHistograms;
+   }
+
+   /**
+    * Get the maximum number of idle PreparedStatements cached per connection.
+    *
+    * @return the per-connection statement cache size, {@code 0} if statement caching is disabled
+    */
+   public int getPreparedStatementCacheSize()
+   {
+      return preparedStatementCacheSize;
+   }
+
+   /**
+    * Set the maximum number of idle PreparedStatements cached per connection.  When greater than zero, statements
+    * created by {@code prepareStatement(sql)}, {@code prepareStatement(sql, resultSetType, concurrency)} and
+    * {@code prepareStatement(sql, resultSetType, concurrency, holdability)} are returned to a least-recently-used
+    * cache on the pool connection when closed, with their parameters and batch cleared and any open result set
+    * closed, and are handed out again for the same SQL, result set type, concurrency and holdability instead of
+    * being re-prepared.  A statement whose properties, such as fetch size or query timeout, were set by the
+    * application, or that is not poolable, is closed rather than cached.  A closed statement must not be used
+    * again by the application.  Use this for drivers that do not cache statements themselves.
+    * Defaults to {@code 0} (disabled).
+    *
+    * @param preparedStatementCacheSize the per-connection statement cache size, {@code 0} to disable
+    */
+   public void setPreparedStatementCacheSize(int preparedStatementCacheSize)
+   {
+      checkIfSealed();
+      if (preparedStatementCacheSize < 0) {
+         throw new IllegalArgumentException("preparedStatementCacheSize cannot be negative");
+      }
+      this.preparedStatementCacheSize = preparedStatementCacheSize;
+   }
+
+   /**
+    * Get the maximum number of connections the pool creates in parallel.
+    *
+    * @return the connection creation concurrency
+    */
+   public int getConnectionCreationConcurrency()
+   {
+      return connectionCreationConcurrency;
+   }
+
+   /**
+    * Set the maximum number of connections the pool creates in parallel, when filling the pool to
+    * {@code minimumIdle} or adding connections for waiting threads.  Raising this shortens pool start-up and
+    * warm-up against databases with a high connection latency.  While connection attempts are failing, the pool
+    * falls back to one attempt at a time until a connection succeeds.  Values above {@code maximumPoolSize} are
+    * reduced to {@code maximumPoolSize}.  Defaults to {@code 1}.
+    *
+    * @param connectionCreationConcurrency the maximum number of connections created in parallel
+    * @see HikariDataSource#warmUp(java.time.Duration)
+    */
+   public void setConnectionCreationConcurrency(int connectionCreationConcurrency)
+   {
+      checkIfSealed();
+      if (connectionCreationConcurrency < 1) {
+         throw new IllegalArgumentException("connectionCreationConcurrency cannot be less than 1");
+      }
+      this.connectionCreationConcurrency = connectionCreationConcurrency;
+   }
+
+   /**
+    * Get the rate at which connection borrows are sampled by the connection profiler.
+    *
+    * @return one in how many borrows is sampled, {@code 0} if the connection profiler is disabled
+    */
+   public int getConnectionProfilerSampleRate()
+   {
+      return connectionProfilerSampleRate;
+   }
+
+   /**
+    * Set the rate at which connection borrows are sampled by the connection profiler.  When enabled, one in every
+    * {@code connectionProfilerSampleRate} borrows (chosen at random) records the stack of the borrowing code, how
+    * long the connection was held, the time from borrow to the first statement execution and the number of
+    * statements executed.  Samples are aggregated by call site and the call sites holding connections the longest
+    * are readable through {@link HikariPoolMXBean#getConnectionProfile()}.  Unsampled borrows pay only for the
+    * sampling decision.  A value of {@code 1} samples every borrow.  Defaults to {@code 0} (disabled).
+    *
+    * @param connectionProfilerSampleRate one in how many borrows to sample, {@code 0} to disable
+    */
+   public void setConnectionProfilerSampleRate(int connectionProfilerSampleRate)
+   {
+      checkIfSealed();
+      if (connectionProfilerSampleRate < 0) {
+         throw new IllegalArgumentException("connectionProfilerSampleRate cannot be negative");
+      }
+      this.connectionProfilerSampleRate = connectionProfilerSampleRate;
+   }
+
    /**
     * Get the pool initialization failure timeout.  See {@code #setInitializationFailTimeout(long)}
     * for details.
@@ -886,6 +1117,7 @@ public class HikariConfig implements HikariConfigMXBean
          }
       }
 
+      other.replicas = new ArrayList<>(replicas);
       other.sealed = false;
    }
 
@@ -997,6 +1229,10 @@ public class HikariConfig implements HikariConfigMXBean
          minIdle = maxPoolSize;
       }
 
+      if (connectionCreationConcurrency > maxPoolSize) {
+         connectionCreationConcurrency = maxPoolSize;
+      }
+
       if (idleTimeout + SECONDS.toMillis(1) > maxLifetime && maxLifetime > 0 && minIdle < maxPoolSize) {
          LOGGER.warn("{} - idleTimeout is close to or more than maxLifetime, disabling it.", poolName);
          idleTimeout = 0;
@@ -1008,6 +1244,15 @@ public class HikariConfig implements HikariConfigMXBean
       else  if (idleTimeout != IDLE_TIMEOUT && idleTimeout != 0 && minIdle == maxPoolSize) {
          LOGGER.warn("{} - idleTimeout has been set but has no effect because the pool is operating as a fixed size pool.", poolName);
       }
+
+      if (backgroundValidationInterval != 0 && backgroundValidationInterval < SECONDS.toMillis(1)) {
+         LOGGER.warn("{} - backgroundValidationInterval is less than 1000ms, disabling it.", poolName);
+         backgroundValidationInterval = 0;
+      }
+
+      if (isAdaptivePoolSizing && minIdle == maxPoolSize) {
+         LOGGER.warn("{} - adaptivePoolSizing has been enabled but has no effect because the pool is operating as a fixed size pool.", poolName);
+      }
    }
 
    private void checkIfSealed()
@@ -30,7 +30,14 @@ import java.io.PrintWriter;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.zaxxer.hikari.pool.HikariPool.POOL_NORMAL;
 
@@ -48,6 +55,9 @@ public class HikariDataSource extends HikariConfig implements DataSource, Closea
    private final HikariPool fastPathPool;
    private volatile HikariPool pool;
 
+   private final AtomicInteger replicaRotation = new AtomicInteger();
+   private volatile HikariPool[] replicaPools = new HikariPool[0];
+
    /**
     * Default constructor.  Setters are used to configure the pool.  Using
     * this constructor vs. {@link #HikariDataSource(HikariConfig)} will
@@ -81,6 +91,7 @@ public class HikariDataSource extends HikariConfig implements DataSource, Closea
 
       LOGGER.info("{} - Starting...", configuration.getPoolName());
       pool = fastPathPool = new HikariPool(this);
+      replicaPools = startReplicaPools(fastPathPool);
       LOGGER.info("{} - Start completed.", configuration.getPoolName());
 
       this.seal();
@@ -102,32 +113,7 @@ public class HikariDataSource extends HikariConfig implements DataSource, Closea
          return fastPathPool.getConnection();
       }
 
-      // See http://en.wikipedia.org/wiki/Double-checked_locking#Usage_in_Java
-      HikariPool result = pool;
-      if (result == null) {
-         synchronized (this) {
-            result = pool;
-            if (result == null) {
-               validate();
-               LOGGER.info("{} - Starting...", getPoolName());
-               try {
-                  pool = result = new HikariPool(this);
-                  this.seal();
-               }
-               catch (PoolInitializationException pie) {
-                  if (pie.getCause() instanceof SQLException) {
-                     throw (SQLException) pie.getCause();
-                  }
-                  else {
-                     throw pie;
-                  }
-               }
-               LOGGER.info("{} - Start completed.", getPoolName());
-            }
-         }
-      }
-
-      return result.getConnection();
+      return getOrStartPool().getConnection();
    }
 
    /** {@inheritDoc} */
@@ -227,6 +213,178 @@ public class HikariDataSource extends HikariConfig implements DataSource, Closea
       return false;
    }
 
+   /**
+    * Start the pool if it has not been started yet, and block until it holds {@code minimumIdle} connections or
+    * the timeout expires.  Connections are created by up to {@code connectionCreationConcurrency} threads in
+    * parallel.
+    *
+    * @param timeout the maximum time to wait for the pool to be filled
+    * @return true if the pool holds at least {@code minimumIdle} connections, false if the timeout expired first
+    * @throws SQLException thrown if the DataSource is closed or the pool fails to start
+    */
+   public boolean warmUp(Duration timeout) throws SQLException
+   {
+      if (isClosed()) {
+         throw new SQLException("HikariDataSource " + this + " has been closed.");
+      }
+
+      return (fastPathPool != null ? fastPathPool : getOrStartPool()).warmUp(timeout.toMillis());
+   }
+
+   // ***********************************************************************
+   //                          Read replica routing
+   // ***********************************************************************
+
+   /**
+    * Get a connection for read-only work.  If replicas were added with {@link HikariConfig#addReplica(HikariConfig)}
+    * the connection is taken from the replica pool under the least pressure, measured as active connections plus
+    * waiting threads relative to the replica's maximum pool size.  If that replica cannot supply a connection within
+    * its {@code connectionTimeout}, or no replica pool is running, a connection is taken from the primary pool and
+    * set read-only for the duration of the borrow.
+    *
+    * @return a java.sql.Connection for read-only use
+    * @throws SQLException thrown if neither a replica nor the primary pool can supply a connection
+    */
+   public Connection getReadOnlyConnection() throws SQLException
+   {
+      if (isClosed()) {
+         throw new SQLException("HikariDataSource " + this + " has been closed.");
+      }
+
+      final HikariPool primary = (fastPathPool != null ? fastPathPool : getOrStartPool());
+      final HikariPool replica = selectReplica(replicaPools);
+      if (replica != null) {
+         try {
+            return replica.getConnection();
+         }
+         catch (SQLTransientConnectionException e) {
+            LOGGER.warn("{} - Replica pool {} could not supply a connection, using the primary pool.", getPoolName(), replica);
+         }
+      }
+
+      final Connection connection = primary.getConnection();
+      try {
+         connection.setReadOnly(true);
+         return connection;
+      }
+      catch (SQLException e) {
+         connection.close();
+         throw e;
+      }
+   }
+
+   /**
+    * Select the running replica pool with the lowest ratio of active connections plus waiting threads to
+    * maximum pool size.  Ties go to the first replica after a rotating starting point, spreading light load.
+    *
+    * @param replicas the replica pools
+    * @return the selected replica pool, or null if no replica pool is running
+    */
+   private HikariPool selectReplica(final HikariPool[] replicas)
+   {
+      HikariPool selected = null;
+      if (replicas.length > 0) {
+         double lowestPressure = Double.MAX_VALUE;
+         final int start = (replicaRotation.getAndIncrement() & Integer.MAX_VALUE) % replicas.length;
+         for (int i = 0; i < replicas.length; i++) {
+            final HikariPool replica = replicas[(start + i) % replicas.length];
+            if (replica.poolState == POOL_NORMAL) {
+               final double pressure = (replica.getActiveConnections() + replica.getThreadsAwaitingConnection()) / (double) replica.config.getMaximumPoolSize();
+               if (pressure < lowestPressure) {
+                  lowestPressure = pressure;
+                  selected = replica;
+               }
+            }
+         }
+      }
+
+      return selected;
+   }
+
+   /**
+    * Start a pool for each configured replica.  If a replica pool fails to start, the pools already started,
+    * including the primary pool, are shut down.
+    *
+    * @param primary the started primary pool
+    * @return the started replica pools
+    */
+   private HikariPool[] startReplicaPools(final HikariPool primary)
+   {
+      final List<HikariConfig> replicas = getReplicas();
+      final HikariPool[] pools = new HikariPool[replicas.size()];
+      try {
+         for (int i = 0; i < pools.length; i++) {
+            final HikariConfig replica = replicas.get(i);
+            replica.validate();
+            LOGGER.info("{} - Starting replica pool {}...", getPoolName(), replica.getPoolName());
+            pools[i] = new HikariPool(replica);
+            replica.seal();
+         }
+
+         return pools;
+      }
+      catch (RuntimeException e) {
+         shutdownPools(pools);
+         shutdownPools(new HikariPool[] { primary });
+         throw e;
+      }
+   }
+
+   private void shutdownPools(final HikariPool[] pools)
+   {
+      for (HikariPool p : pools) {
+         if (p != null) {
+            try {
+               p.shutdown();
+            }
+            catch (InterruptedException e) {
+               LOGGER.warn("{} - Interrupted during closing", p, e);
+               Thread.currentThread().interrupt();
+            }
+         }
+      }
+   }
+
+   // ***********************************************************************
+   //                        Asynchronous acquisition
+   // ***********************************************************************
+
+   /**
+    * Get a connection from the pool without blocking the calling thread.  The returned future is completed
+    * once a connection is available, or completed exceptionally after {@code connectionTimeout} milliseconds.
+    * Connection validation and completion of the future run on the {@link ForkJoinPool#commonPool()}.
+    *
+    * @return a future that is completed with a pooled connection
+    * @see #getConnectionAsync(Executor)
+    */
+   public CompletableFuture<Connection> getConnectionAsync()
+   {
+      return getConnectionAsync(ForkJoinPool.commonPool());
+   }
+
+   /**
+    * Get a connection from the pool without blocking the calling thread.  If no connection is idle the request is
+    * queued in the pool and completed, on the specified executor, when a connection is returned or added.  If no
+    * connection becomes available within {@code connectionTimeout} milliseconds the future is completed with a
+    * {@link java.sql.SQLTransientConnectionException}.  Cancelling the future withdraws a queued request.
+    *
+    * @param executor the executor used to validate the connection and complete the future
+    * @return a future that is completed with a pooled connection
+    */
+   public CompletableFuture<Connection> getConnectionAsync(Executor executor)
+   {
+      if (isClosed()) {
+         return CompletableFuture.failedFuture(new SQLException("HikariDataSource " + this + " has been closed."));
+      }
+
+      try {
+         return (fastPathPool != null ? fastPathPool : getOrStartPool()).getConnectionAsync(executor);
+      }
+      catch (SQLException e) {
+         return CompletableFuture.failedFuture(e);
+      }
+   }
+
    // ***********************************************************************
    //                        HikariConfigMXBean methods
    // ***********************************************************************
@@ -357,9 +515,49 @@ public class HikariDataSource extends HikariConfig implements DataSource, Closea
             LOGGER.warn("{} - Interrupted during closing", getPoolName(), e);
             Thread.currentThread().interrupt();
          }
+
+         shutdownPools(replicaPools);
       }
    }
 
+   /**
+    * Get the pool, starting it if this HikariDataSource was constructed without a {@link HikariConfig}.
+    *
+    * @return the started pool
+    * @throws SQLException thrown if the pool fails to start
+    */
+   private HikariPool getOrStartPool() throws SQLException
+   {
+      // See http://en.wikipedia.org/wiki/Double-checked_locking#Usage_in_Java
+      HikariPool result = pool;
+      if (result == null) {
+         synchronized (this) {
+            result = pool;
+            if (result == null) {
+               validate();
+               LOGGER.info("{} - Starting...", getPoolName());
+               try {
+                  result = new HikariPool(this);
+                  replicaPools = startReplicaPools(result);
+                  pool = result;
+                  this.seal();
+               }
+               catch (PoolInitializationException pie) {
+                  if (pie.getCause() instanceof SQLException) {
+                     throw (SQLException) pie.getCause();
+                  }
+                  else {
+                     throw pie;
+                  }
+               }
+               LOGGER.info("{} - Start completed.", getPoolName());
+            }
+         }
+      }
+
+      return result;
+   }
+
    /**
     * Determine whether the HikariDataSource has been closed.
     *
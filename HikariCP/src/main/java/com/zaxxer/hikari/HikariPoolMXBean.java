@@ -16,6 +16,11 @@
 
 package com.zaxxer.hikari;
 
+import com.zaxxer.hikari.metrics.CallSiteProfile;
+import com.zaxxer.hikari.metrics.LatencySnapshot;
+
+import java.util.List;
+
 import javax.sql.DataSource;
 
 /**
@@ -65,6 +70,56 @@ public interface HikariPoolMXBean
     */
    int getThreadsAwaitingConnection();
 
+   /**
+    * Get the number of connections the pool is currently allowed to hold.  This is the configured maximum pool size,
+    * unless adaptive pool sizing is enabled, in which case it is the target size (between minimumIdle and
+    * maximumPoolSize) most recently chosen from the measured connection acquisition and usage times.
+    *
+    * @return the current target pool size
+    */
+   int getTargetPoolSize();
+
+   /**
+    * Get the distribution of the time threads spent acquiring a connection from the pool, including acquisitions
+    * that timed out, since the pool was started.  Empty unless {@link HikariConfig#setRecordLatencyHistograms(boolean)}
+    * is enabled.
+    *
+    * @return the count, p50, p90, p99, p99.9 and maximum connection acquire time in milliseconds
+    */
+   LatencySnapshot getConnectionAcquireLatency();
+
+   /**
+    * Get the distribution of the time connections were held by the application between borrow and close, since the
+    * pool was started.  Empty unless {@link HikariConfig#setRecordLatencyHistograms(boolean)} is enabled.
+    *
+    * @return the count, p50, p90, p99, p99.9 and maximum connection usage time in milliseconds
+    */
+   LatencySnapshot getConnectionUsageLatency();
+
+   /**
+    * Get the distribution of the time taken to create new physical connections, since the pool was started.  Empty
+    * unless {@link HikariConfig#setRecordLatencyHistograms(boolean)} is enabled.
+    *
+    * @return the count, p50, p90, p99, p99.9 and maximum connection creation time in milliseconds
+    */
+   LatencySnapshot getConnectionCreationLatency();
+
+   /**
+    * Get the (up to) 20 call sites whose sampled borrows held connections the longest in total, since the pool was
+    * started or the profile was last reset.  Each entry gives the borrowing stack, the number of sampled borrows, the
+    * total, mean and maximum time connections were held, the mean time from borrow to the first statement execution,
+    * and the mean number of statements executed per borrow.  Only borrows whose connection has been closed are
+    * counted.  Empty unless {@link HikariConfig#setConnectionProfilerSampleRate(int)} is set.
+    *
+    * @return the call site profiles, longest total hold time first
+    */
+   List<CallSiteProfile> getConnectionProfile();
+
+   /**
+    * Discard the samples recorded by the connection profiler, for example to profile a specific period of load.
+    */
+   void resetConnectionProfile();
+
    /**
     * Evict currently idle connections from the pool, and mark active (in-use) connections for eviction when they are
     * returned to the pool.
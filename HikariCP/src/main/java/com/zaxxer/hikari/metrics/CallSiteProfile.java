@@ -0,0 +1,126 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.zaxxer.hikari.metrics;
+
+import javax.management.openmbean.CompositeData;
+
+/**
+ * An immutable summary of the sampled connection borrows made from one call site, as aggregated by
+ * the connection profiler.  Times are in milliseconds.  Exposed through JMX as composite data with
+ * the items {@code stackHash}, {@code callSite}, {@code stackTrace}, {@code borrows},
+ * {@code totalHoldMs}, {@code meanHoldMs}, {@code maxHoldMs}, {@code meanFirstStatementMs} and
+ * {@code meanStatements}.
+ */
+public final class CallSiteProfile
+{
+   private final int stackHash;
+   private final String callSite;
+   private final String stackTrace;
+   private final long borrows;
+   private final double totalHoldMs;
+   private final double meanHoldMs;
+   private final double maxHoldMs;
+   private final double meanFirstStatementMs;
+   private final double meanStatements;
+
+   public CallSiteProfile(final int stackHash, final String callSite, final String stackTrace, final long borrows, final double totalHoldMs,
+                          final double meanHoldMs, final double maxHoldMs, final double meanFirstStatementMs, final double meanStatements)
+   {
+      this.stackHash = stackHash;
+      this.callSite = callSite;
+      this.stackTrace = stackTrace;
+      this.borrows = borrows;
+      this.totalHoldMs = totalHoldMs;
+      this.meanHoldMs = meanHoldMs;
+      this.maxHoldMs = maxHoldMs;
+      this.meanFirstStatementMs = meanFirstStatementMs;
+      this.meanStatements = meanStatements;
+   }
+
+   /**
+    * Reconstruct a profile from its JMX representation; used by MXBean proxies.
+    *
+    * @param data the composite data
+    * @return the profile
+    */
+   public static CallSiteProfile from(final CompositeData data)
+   {
+      return new CallSiteProfile((Integer) data.get("stackHash"), (String) data.get("callSite"), (String) data.get("stackTrace"),
+                                 (Long) data.get("borrows"), (Double) data.get("totalHoldMs"), (Double) data.get("meanHoldMs"),
+                                 (Double) data.get("maxHoldMs"), (Double) data.get("meanFirstStatementMs"), (Double) data.get("meanStatements"));
+   }
+
+   /** @return the hash of the borrowing stack, identifying the call site */
+   public int getStackHash()
+   {
+      return stackHash;
+   }
+
+   /** @return the innermost application frame of the borrowing stack */
+   public String getCallSite()
+   {
+      return callSite;
+   }
+
+   /** @return the borrowing stack, one frame per line */
+   public String getStackTrace()
+   {
+      return stackTrace;
+   }
+
+   /** @return the number of sampled borrows */
+   public long getBorrows()
+   {
+      return borrows;
+   }
+
+   /** @return the total time the sampled borrows held their connections, in milliseconds */
+   public double getTotalHoldMs()
+   {
+      return totalHoldMs;
+   }
+
+   /** @return the mean time a connection was held, in milliseconds */
+   public double getMeanHoldMs()
+   {
+      return meanHoldMs;
+   }
+
+   /** @return the longest time a connection was held, in milliseconds */
+   public double getMaxHoldMs()
+   {
+      return maxHoldMs;
+   }
+
+   /** @return the mean time from borrow to the first statement execution, in milliseconds, of the borrows that executed one */
+   public double getMeanFirstStatementMs()
+   {
+      return meanFirstStatementMs;
+   }
+
+   /** @return the mean number of statements executed per borrow */
+   public double getMeanStatements()
+   {
+      return meanStatements;
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public String toString()
+   {
+      return callSite + ": borrows=" + borrows + ", totalHold=" + totalHoldMs + "ms, meanHold=" + meanHoldMs + "ms, maxHold=" + maxHoldMs
+         + "ms, meanFirstStatement=" + meanFirstStatementMs + "ms, meanStatements=" + meanStatements;
+   }
+}
@@ -29,6 +29,12 @@ public interface IMetricsTracker extends AutoCloseable
 
    default void recordConnectionTimeout() {}
 
+   default void recordStatementCacheHit() {}
+
+   default void recordStatementCacheMiss() {}
+
+   default void recordStatementCacheEviction() {}
+
    @Override
    default void close() {}
 }
@@ -0,0 +1,118 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.zaxxer.hikari.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free, allocation-free histogram of nanosecond latencies, in the style of HdrHistogram.
+ * <p>
+ * Values are counted in log-linear buckets: every power of two is split into 32 equal sub-buckets,
+ * so a recorded value is resolved to within about 3% of its magnitude across the whole range of
+ * {@code long}.  Recording is a single atomic increment plus, for a new maximum, a CAS on the max.
+ * Counts are cumulative from the creation of the histogram.
+ */
+public final class LatencyHistogram
+{
+   private static final int SUB_BUCKET_BITS = 5;
+   private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+   private static final int SUB_BUCKET_MASK = SUB_BUCKETS - 1;
+   private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+   private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+   private final AtomicLongArray counts;
+   private final AtomicLong max;
+
+   public LatencyHistogram()
+   {
+      this.counts = new AtomicLongArray(BUCKETS);
+      this.max = new AtomicLong();
+   }
+
+   /**
+    * Record a latency.
+    *
+    * @param nanos the latency in nanoseconds, negative values are recorded as zero
+    */
+   public void record(final long nanos)
+   {
+      final long value = Math.max(0L, nanos);
+      counts.incrementAndGet(indexOf(value));
+
+      long current = max.get();
+      while (value > current && !max.compareAndSet(current, value)) {
+         current = max.get();
+      }
+   }
+
+   /**
+    * Get the count, p50, p90, p99, p99.9 and maximum of the recorded latencies.  Recording may continue
+    * concurrently, in which case the snapshot may include part of the concurrently recorded values.
+    *
+    * @return a snapshot of the histogram, in milliseconds
+    */
+   public LatencySnapshot getSnapshot()
+   {
+      final long[] snapshot = new long[BUCKETS];
+      long total = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+         snapshot[i] = counts.get(i);
+         total += snapshot[i];
+      }
+
+      final long maxNanos = max.get();
+      final double[] values = new double[PERCENTILES.length];
+      if (total > 0) {
+         long cumulative = 0;
+         int p = 0;
+         for (int i = 0; i < BUCKETS && p < PERCENTILES.length; i++) {
+            cumulative += snapshot[i];
+            while (p < PERCENTILES.length && cumulative >= Math.max(1L, (long) Math.ceil(PERCENTILES[p] * total))) {
+               values[p++] = toMillis(Math.min(maxNanos, midpointOf(i)));
+            }
+         }
+      }
+
+      return new LatencySnapshot(total, values[0], values[1], values[2], values[3], toMillis(maxNanos));
+   }
+
+   static int indexOf(final long value)
+   {
+      if (value < SUB_BUCKETS) {
+         return (int) value;
+      }
+
+      final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+      return SUB_BUCKETS + (shift << SUB_BUCKET_BITS) + (int) ((value >>> shift) & SUB_BUCKET_MASK);
+   }
+
+   static long midpointOf(final int index)
+   {
+      if (index < SUB_BUCKETS) {
+         return index;
+      }
+
+      final int shift = (index - SUB_BUCKETS) >>> SUB_BUCKET_BITS;
+      final long lowest = (long) (SUB_BUCKETS + ((index - SUB_BUCKETS) & SUB_BUCKET_MASK)) << shift;
+      return lowest + ((1L << shift) >>> 1);
+   }
+
+   private static double toMillis(final long nanos)
+   {
+      return nanos / 1_000_000d;
+   }
+}
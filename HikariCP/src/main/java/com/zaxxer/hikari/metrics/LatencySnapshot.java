@@ -0,0 +1,100 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.zaxxer.hikari.metrics;
+
+import javax.management.openmbean.CompositeData;
+
+/**
+ * An immutable summary of a {@link LatencyHistogram}, in milliseconds.  Exposed through JMX
+ * as composite data with the items {@code count}, {@code p50}, {@code p90}, {@code p99},
+ * {@code p999} and {@code max}.
+ */
+public final class LatencySnapshot
+{
+   /** The snapshot of a histogram with no recorded values. */
+   public static final LatencySnapshot EMPTY = new LatencySnapshot(0, 0d, 0d, 0d, 0d, 0d);
+
+   private final long count;
+   private final double p50;
+   private final double p90;
+   private final double p99;
+   private final double p999;
+   private final double max;
+
+   public LatencySnapshot(final long count, final double p50, final double p90, final double p99, final double p999, final double max)
+   {
+      this.count = count;
+      this.p50 = p50;
+      this.p90 = p90;
+      this.p99 = p99;
+      this.p999 = p999;
+      this.max = max;
+   }
+
+   /**
+    * Reconstruct a snapshot from its JMX representation; used by MXBean proxies.
+    *
+    * @param data the composite data
+    * @return the snapshot
+    */
+   public static LatencySnapshot from(final CompositeData data)
+   {
+      return new LatencySnapshot((Long) data.get("count"), (Double) data.get("p50"), (Double) data.get("p90"),
+                                 (Double) data.get("p99"), (Double) data.get("p999"), (Double) data.get("max"));
+   }
+
+   /** @return the number of recorded values */
+   public long getCount()
+   {
+      return count;
+   }
+
+   /** @return the median, in milliseconds */
+   public double getP50()
+   {
+      return p50;
+   }
+
+   /** @return the 90th percentile, in milliseconds */
+   public double getP90()
+   {
+      return p90;
+   }
+
+   /** @return the 99th percentile, in milliseconds */
+   public double getP99()
+   {
+      return p99;
+   }
+
+   /** @return the 99.9th percentile, in milliseconds */
+   public double getP999()
+   {
+      return p999;
+   }
+
+   /** @return the maximum, in milliseconds */
+   public double getMax()
+   {
+      return max;
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public String toString()
+   {
+      return "count=" + count + ", p50=" + p50 + "ms, p90=" + p90 + "ms, p99=" + p99 + "ms, p999=" + p999 + "ms, max=" + max + "ms";
+   }
+}
@@ -33,6 +33,9 @@ public final class CodaHaleMetricsTracker implements IMetricsTracker
    private final Histogram connectionUsage;
    private final Histogram connectionCreation;
    private final Meter connectionTimeoutMeter;
+   private final Meter statementCacheHitMeter;
+   private final Meter statementCacheMissMeter;
+   private final Meter statementCacheEvictionMeter;
    private final MetricRegistry registry;
 
    private static final String METRIC_CATEGORY = "pool";
@@ -40,6 +43,9 @@ public final class CodaHaleMetricsTracker implements IMetricsTracker
    private static final String METRIC_NAME_USAGE = "Usage";
    private static final String METRIC_NAME_CONNECT = "ConnectionCreation";
    private static final String METRIC_NAME_TIMEOUT_RATE = "ConnectionTimeoutRate";
+   private static final String METRIC_NAME_STATEMENT_CACHE_HITS = "StatementCacheHits";
+   private static final String METRIC_NAME_STATEMENT_CACHE_MISSES = "StatementCacheMisses";
+   private static final String METRIC_NAME_STATEMENT_CACHE_EVICTIONS = "StatementCacheEvictions";
    private static final String METRIC_NAME_TOTAL_CONNECTIONS = "TotalConnections";
    private static final String METRIC_NAME_IDLE_CONNECTIONS = "IdleConnections";
    private static final String METRIC_NAME_ACTIVE_CONNECTIONS = "ActiveConnections";
@@ -55,6 +61,9 @@ public final class CodaHaleMetricsTracker implements IMetricsTracker
       this.connectionUsage = registry.histogram(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_USAGE));
       this.connectionCreation = registry.histogram(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_CONNECT));
       this.connectionTimeoutMeter = registry.meter(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_TIMEOUT_RATE));
+      this.statementCacheHitMeter = registry.meter(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_STATEMENT_CACHE_HITS));
+      this.statementCacheMissMeter = registry.meter(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_STATEMENT_CACHE_MISSES));
+      this.statementCacheEvictionMeter = registry.meter(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_STATEMENT_CACHE_EVICTIONS));
 
       registry.register(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_TOTAL_CONNECTIONS),
          (Gauge<Integer>) poolStats::getTotalConnections);
@@ -83,6 +92,9 @@ public final class CodaHaleMetricsTracker implements IMetricsTracker
       registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_USAGE));
       registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_CONNECT));
       registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_TIMEOUT_RATE));
+      registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_STATEMENT_CACHE_HITS));
+      registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_STATEMENT_CACHE_MISSES));
+      registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_STATEMENT_CACHE_EVICTIONS));
       registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_TOTAL_CONNECTIONS));
       registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_IDLE_CONNECTIONS));
       registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_ACTIVE_CONNECTIONS));
@@ -117,6 +129,24 @@ public final class CodaHaleMetricsTracker implements IMetricsTracker
       connectionCreation.update(connectionCreatedMillis);
    }
 
+   @Override
+   public void recordStatementCacheHit()
+   {
+      statementCacheHitMeter.mark();
+   }
+
+   @Override
+   public void recordStatementCacheMiss()
+   {
+      statementCacheMissMeter.mark();
+   }
+
+   @Override
+   public void recordStatementCacheEviction()
+   {
+      statementCacheEvictionMeter.mark();
+   }
+
    public Timer getConnectionAcquisitionTimer()
    {
       return connectionObtainTimer;
@@ -41,6 +41,9 @@ public class MicrometerMetricsTracker implements IMetricsTracker
    private static final String METRIC_NAME_CONNECT = HIKARI_METRIC_NAME_PREFIX + ".connections.creation";
 
    private static final String METRIC_NAME_TIMEOUT_RATE = HIKARI_METRIC_NAME_PREFIX + ".connections.timeout";
+   private static final String METRIC_NAME_STATEMENT_CACHE_HITS = HIKARI_METRIC_NAME_PREFIX + ".statements.cache.hits";
+   private static final String METRIC_NAME_STATEMENT_CACHE_MISSES = HIKARI_METRIC_NAME_PREFIX + ".statements.cache.misses";
+   private static final String METRIC_NAME_STATEMENT_CACHE_EVICTIONS = HIKARI_METRIC_NAME_PREFIX + ".statements.cache.evictions";
    private static final String METRIC_NAME_TOTAL_CONNECTIONS = HIKARI_METRIC_NAME_PREFIX + ".connections";
    private static final String METRIC_NAME_IDLE_CONNECTIONS = HIKARI_METRIC_NAME_PREFIX + ".connections.idle";
    private static final String METRIC_NAME_ACTIVE_CONNECTIONS = HIKARI_METRIC_NAME_PREFIX + ".connections.active";
@@ -51,6 +54,9 @@ public class MicrometerMetricsTracker implements IMetricsTracker
 
    private final Timer connectionObtainTimer;
    private final Counter connectionTimeoutCounter;
+   private final Counter statementCacheHitCounter;
+   private final Counter statementCacheMissCounter;
+   private final Counter statementCacheEvictionCounter;
    private final Timer connectionUsage;
    private final Timer connectionCreation;
    @SuppressWarnings({ "unused"})
@@ -92,6 +98,21 @@ public class MicrometerMetricsTracker implements IMetricsTracker
          .tags(METRIC_CATEGORY, poolName)
          .register(meterRegistry);
 
+      this.statementCacheHitCounter = Counter.builder(METRIC_NAME_STATEMENT_CACHE_HITS)
+         .description("Statement cache hit total count")
+         .tags(METRIC_CATEGORY, poolName)
+         .register(meterRegistry);
+
+      this.statementCacheMissCounter = Counter.builder(METRIC_NAME_STATEMENT_CACHE_MISSES)
+         .description("Statement cache miss total count")
+         .tags(METRIC_CATEGORY, poolName)
+         .register(meterRegistry);
+
+      this.statementCacheEvictionCounter = Counter.builder(METRIC_NAME_STATEMENT_CACHE_EVICTIONS)
+         .description("Statement cache eviction total count")
+         .tags(METRIC_CATEGORY, poolName)
+         .register(meterRegistry);
+
       this.totalConnectionGauge = Gauge.builder(METRIC_NAME_TOTAL_CONNECTIONS, poolStats, PoolStats::getTotalConnections)
          .description("Total connections")
          .tags(METRIC_CATEGORY, poolName)
@@ -149,4 +170,22 @@ public class MicrometerMetricsTracker implements IMetricsTracker
    {
       connectionCreation.record(connectionCreatedMillis, TimeUnit.MILLISECONDS);
    }
+
+   @Override
+   public void recordStatementCacheHit()
+   {
+      statementCacheHitCounter.increment();
+   }
+
+   @Override
+   public void recordStatementCacheMiss()
+   {
+      statementCacheMissCounter.increment();
+   }
+
+   @Override
+   public void recordStatementCacheEviction()
+   {
+      statementCacheEvictionCounter.increment();
+   }
 }
@@ -36,6 +36,24 @@ class PrometheusHistogramMetricsTracker implements IMetricsTracker
       .help("Connection timeout total count")
       .create();
 
+   private static final Counter STATEMENT_CACHE_HIT_COUNTER = Counter.build()
+      .name("hikaricp_statement_cache_hits_total")
+      .labelNames("pool")
+      .help("Statement cache hit total count")
+      .create();
+
+   private static final Counter STATEMENT_CACHE_MISS_COUNTER = Counter.build()
+      .name("hikaricp_statement_cache_misses_total")
+      .labelNames("pool")
+      .help("Statement cache miss total count")
+      .create();
+
+   private static final Counter STATEMENT_CACHE_EVICTION_COUNTER = Counter.build()
+      .name("hikaricp_statement_cache_evictions_total")
+      .labelNames("pool")
+      .help("Statement cache eviction total count")
+      .create();
+
    private static final Histogram ELAPSED_ACQUIRED_HISTOGRAM =
       registerHistogram("hikaricp_connection_acquired_nanos", "Connection acquired time (ns)", 1_000);
 
@@ -46,6 +64,9 @@ class PrometheusHistogramMetricsTracker implements IMetricsTracker
       registerHistogram("hikaricp_connection_creation_millis", "Connection creation (ms)", 1);
 
    private final Counter.Child connectionTimeoutCounterChild;
+   private final Counter.Child statementCacheHitCounterChild;
+   private final Counter.Child statementCacheMissCounterChild;
+   private final Counter.Child statementCacheEvictionCounterChild;
 
    private static Histogram registerHistogram(String name, String help, double bucketStart) {
       return Histogram.build()
@@ -63,6 +84,9 @@ class PrometheusHistogramMetricsTracker implements IMetricsTracker
    PrometheusHistogramMetricsTracker(String poolName, CollectorRegistry collectorRegistry) {
       registerMetrics(collectorRegistry);
       this.connectionTimeoutCounterChild = CONNECTION_TIMEOUT_COUNTER.labels(poolName);
+      this.statementCacheHitCounterChild = STATEMENT_CACHE_HIT_COUNTER.labels(poolName);
+      this.statementCacheMissCounterChild = STATEMENT_CACHE_MISS_COUNTER.labels(poolName);
+      this.statementCacheEvictionCounterChild = STATEMENT_CACHE_EVICTION_COUNTER.labels(poolName);
       this.elapsedAcquiredHistogramChild = ELAPSED_ACQUIRED_HISTOGRAM.labels(poolName);
       this.elapsedBorrowedHistogramChild = ELAPSED_BORROWED_HISTOGRAM.labels(poolName);
       this.elapsedCreationHistogramChild = ELAPSED_CREATION_HISTOGRAM.labels(poolName);
@@ -70,6 +94,9 @@ class PrometheusHistogramMetricsTracker implements IMetricsTracker
 
    private void registerMetrics(CollectorRegistry collectorRegistry) {
       CONNECTION_TIMEOUT_COUNTER.register(collectorRegistry);
+      STATEMENT_CACHE_HIT_COUNTER.register(collectorRegistry);
+      STATEMENT_CACHE_MISS_COUNTER.register(collectorRegistry);
+      STATEMENT_CACHE_EVICTION_COUNTER.register(collectorRegistry);
       ELAPSED_ACQUIRED_HISTOGRAM.register(collectorRegistry);
       ELAPSED_BORROWED_HISTOGRAM.register(collectorRegistry);
       ELAPSED_CREATION_HISTOGRAM.register(collectorRegistry);
@@ -94,4 +121,19 @@ class PrometheusHistogramMetricsTracker implements IMetricsTracker
    public void recordConnectionTimeout() {
       connectionTimeoutCounterChild.inc();
    }
+
+   @Override
+   public void recordStatementCacheHit() {
+      statementCacheHitCounterChild.inc();
+   }
+
+   @Override
+   public void recordStatementCacheMiss() {
+      statementCacheMissCounterChild.inc();
+   }
+
+   @Override
+   public void recordStatementCacheEviction() {
+      statementCacheEvictionCounterChild.inc();
+   }
 }
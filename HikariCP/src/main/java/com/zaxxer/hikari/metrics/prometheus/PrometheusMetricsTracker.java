@@ -36,6 +36,24 @@ class PrometheusMetricsTracker implements IMetricsTracker
       .help("Connection timeout total count")
       .create();
 
+   private final static Counter STATEMENT_CACHE_HIT_COUNTER = Counter.build()
+      .name("hikaricp_statement_cache_hits_total")
+      .labelNames("pool")
+      .help("Statement cache hit total count")
+      .create();
+
+   private final static Counter STATEMENT_CACHE_MISS_COUNTER = Counter.build()
+      .name("hikaricp_statement_cache_misses_total")
+      .labelNames("pool")
+      .help("Statement cache miss total count")
+      .create();
+
+   private final static Counter STATEMENT_CACHE_EVICTION_COUNTER = Counter.build()
+      .name("hikaricp_statement_cache_evictions_total")
+      .labelNames("pool")
+      .help("Statement cache eviction total count")
+      .create();
+
    private final static Summary ELAPSED_ACQUIRED_SUMMARY =
       createSummary("hikaricp_connection_acquired_nanos", "Connection acquired time (ns)");
 
@@ -51,6 +69,9 @@ class PrometheusMetricsTracker implements IMetricsTracker
    private final HikariCPCollector hikariCPCollector;
 
    private final Counter.Child connectionTimeoutCounterChild;
+   private final Counter.Child statementCacheHitCounterChild;
+   private final Counter.Child statementCacheMissCounterChild;
+   private final Counter.Child statementCacheEvictionCounterChild;
 
    private final Summary.Child elapsedAcquiredSummaryChild;
    private final Summary.Child elapsedUsageSummaryChild;
@@ -62,6 +83,9 @@ class PrometheusMetricsTracker implements IMetricsTracker
       this.poolName = poolName;
       this.hikariCPCollector = hikariCPCollector;
       this.connectionTimeoutCounterChild = CONNECTION_TIMEOUT_COUNTER.labels(poolName);
+      this.statementCacheHitCounterChild = STATEMENT_CACHE_HIT_COUNTER.labels(poolName);
+      this.statementCacheMissCounterChild = STATEMENT_CACHE_MISS_COUNTER.labels(poolName);
+      this.statementCacheEvictionCounterChild = STATEMENT_CACHE_EVICTION_COUNTER.labels(poolName);
       this.elapsedAcquiredSummaryChild = ELAPSED_ACQUIRED_SUMMARY.labels(poolName);
       this.elapsedUsageSummaryChild = ELAPSED_USAGE_SUMMARY.labels(poolName);
       this.elapsedCreationSummaryChild = ELAPSED_CREATION_SUMMARY.labels(poolName);
@@ -71,6 +95,9 @@ class PrometheusMetricsTracker implements IMetricsTracker
    {
       if (registrationStatuses.putIfAbsent(collectorRegistry, REGISTERED) == null) {
          CONNECTION_TIMEOUT_COUNTER.register(collectorRegistry);
+         STATEMENT_CACHE_HIT_COUNTER.register(collectorRegistry);
+         STATEMENT_CACHE_MISS_COUNTER.register(collectorRegistry);
+         STATEMENT_CACHE_EVICTION_COUNTER.register(collectorRegistry);
          ELAPSED_ACQUIRED_SUMMARY.register(collectorRegistry);
          ELAPSED_USAGE_SUMMARY.register(collectorRegistry);
          ELAPSED_CREATION_SUMMARY.register(collectorRegistry);
@@ -101,6 +128,24 @@ class PrometheusMetricsTracker implements IMetricsTracker
       connectionTimeoutCounterChild.inc();
    }
 
+   @Override
+   public void recordStatementCacheHit()
+   {
+      statementCacheHitCounterChild.inc();
+   }
+
+   @Override
+   public void recordStatementCacheMiss()
+   {
+      statementCacheMissCounterChild.inc();
+   }
+
+   @Override
+   public void recordStatementCacheEviction()
+   {
+      statementCacheEvictionCounterChild.inc();
+   }
+
    private static Summary createSummary(String name, String help)
    {
       return Summary.build()
@@ -120,6 +165,9 @@ class PrometheusMetricsTracker implements IMetricsTracker
    {
       hikariCPCollector.remove(poolName);
       CONNECTION_TIMEOUT_COUNTER.remove(poolName);
+      STATEMENT_CACHE_HIT_COUNTER.remove(poolName);
+      STATEMENT_CACHE_MISS_COUNTER.remove(poolName);
+      STATEMENT_CACHE_EVICTION_COUNTER.remove(poolName);
       ELAPSED_ACQUIRED_SUMMARY.remove(poolName);
       ELAPSED_USAGE_SUMMARY.remove(poolName);
       ELAPSED_CREATION_SUMMARY.remove(poolName);
@@ -0,0 +1,244 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zaxxer.hikari.pool;
+
+import static com.zaxxer.hikari.util.ClockSource.currentTime;
+import static com.zaxxer.hikari.util.ClockSource.elapsedNanos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import com.zaxxer.hikari.metrics.CallSiteProfile;
+
+/**
+ * A sampling profiler of connection borrows.  One in every {@code sampleRate} borrows captures the
+ * stack of the borrowing code and, when the connection is closed, records how long it was held, the
+ * time from borrow to the first statement execution and the number of statements executed.  Samples
+ * are aggregated by stack, so that the call sites holding connections the longest can be ranked.
+ */
+final class ConnectionProfiler
+{
+   private static final int MAX_STACK_DEPTH = Integer.getInteger("com.zaxxer.hikari.profilerStackDepth", 32);
+   private static final int MAX_CALL_SITES = Integer.getInteger("com.zaxxer.hikari.profilerCallSites", 1000);
+   private static final String HIKARI_PACKAGE = "com.zaxxer.hikari.";
+   private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+   private static final StackKey OTHER_CALL_SITES = new StackKey(new StackTraceElement[0]);
+
+   private final int sampleRate;
+   private final ConcurrentHashMap<StackKey, CallSite> callSites;
+
+   ConnectionProfiler(final int sampleRate)
+   {
+      this.sampleRate = sampleRate;
+      this.callSites = new ConcurrentHashMap<>();
+   }
+
+   /**
+    * Decide whether to sample a borrow, capturing the stack of the calling thread if so.
+    *
+    * @return a new Borrow, or {@link Borrow#NOT_SAMPLED}
+    */
+   Borrow sample()
+   {
+      if (sampleRate == 0 || (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0)) {
+         return Borrow.NOT_SAMPLED;
+      }
+
+      final StackTraceElement[] stack = STACK_WALKER.walk(frames -> frames.dropWhile(f -> f.getClassName().startsWith(HIKARI_PACKAGE))
+                                                                          .limit(MAX_STACK_DEPTH)
+                                                                          .map(StackWalker.StackFrame::toStackTraceElement)
+                                                                          .toArray(StackTraceElement[]::new));
+      return new Borrow(this, new StackKey(stack));
+   }
+
+   /**
+    * Get the profiles of the call sites that held connections the longest in total.
+    *
+    * @param limit the maximum number of call sites to return
+    * @return the call site profiles, longest total hold time first
+    */
+   List<CallSiteProfile> getProfiles(final int limit)
+   {
+      final List<CallSiteProfile> profiles = new ArrayList<>(callSites.size());
+      callSites.values().forEach(site -> profiles.add(site.toProfile()));
+      return profiles.stream()
+                     .sorted(Comparator.comparingDouble(CallSiteProfile::getTotalHoldMs).reversed())
+                     .limit(limit)
+                     .collect(Collectors.toList());
+   }
+
+   /**
+    * Discard all recorded samples.
+    */
+   void reset()
+   {
+      callSites.clear();
+   }
+
+   private void record(final StackKey key, final long holdNanos, final long firstStatementNanos, final int statements)
+   {
+      CallSite site = callSites.get(key);
+      if (site == null) {
+         site = callSites.computeIfAbsent(callSites.size() < MAX_CALL_SITES ? key : OTHER_CALL_SITES, CallSite::new);
+      }
+
+      site.record(holdNanos, firstStatementNanos, statements);
+   }
+
+   /**
+    * A borrowed connection; sampled instances record statement executions and are reported to the
+    * profiler when the connection is closed.  Like the connection itself, it is not thread-safe.
+    */
+   static class Borrow
+   {
+      static final Borrow NOT_SAMPLED;
+
+      private final ConnectionProfiler profiler;
+      private final StackKey key;
+      private long startTime;
+      private long firstStatementTime;
+      private int statements;
+      private boolean isEnded;
+
+      static
+      {
+         NOT_SAMPLED = new Borrow(null, null) {
+            @Override
+            Borrow start(long now) { return this; }
+
+            @Override
+            void statementExecuted() {}
+
+            @Override
+            void end() {}
+         };
+      }
+
+      private Borrow(final ConnectionProfiler profiler, final StackKey key)
+      {
+         this.profiler = profiler;
+         this.key = key;
+      }
+
+      /**
+       * Mark the time the connection was handed to the application.
+       *
+       * @param now the current time
+       * @return this borrow
+       */
+      Borrow start(final long now)
+      {
+         startTime = now;
+         return this;
+      }
+
+      void statementExecuted()
+      {
+         if (statements++ == 0) {
+            firstStatementTime = currentTime();
+         }
+      }
+
+      /**
+       * Report this borrow to the profiler, once.
+       */
+      void end()
+      {
+         if (!isEnded) {
+            isEnded = true;
+            final long now = currentTime();
+            profiler.record(key, elapsedNanos(startTime, now), statements > 0 ? elapsedNanos(startTime, firstStatementTime) : -1L, statements);
+         }
+      }
+   }
+
+   /**
+    * A captured stack, compared by its frames.
+    */
+   private static final class StackKey
+   {
+      private final StackTraceElement[] stack;
+      private final int hash;
+
+      StackKey(final StackTraceElement[] stack)
+      {
+         this.stack = stack;
+         this.hash = Arrays.hashCode(stack);
+      }
+
+      @Override
+      public int hashCode()
+      {
+         return hash;
+      }
+
+      @Override
+      public boolean equals(final Object other)
+      {
+         return this == other || (other instanceof StackKey && hash == ((StackKey) other).hash && Arrays.equals(stack, ((StackKey) other).stack));
+      }
+   }
+
+   /**
+    * The aggregated samples of one call site.
+    */
+   private static final class CallSite
+   {
+      private final StackKey key;
+      private long borrows;
+      private long totalHoldNanos;
+      private long maxHoldNanos;
+      private long firstStatementBorrows;
+      private long totalFirstStatementNanos;
+      private long totalStatements;
+
+      CallSite(final StackKey key)
+      {
+         this.key = key;
+      }
+
+      synchronized void record(final long holdNanos, final long firstStatementNanos, final int statements)
+      {
+         borrows++;
+         totalHoldNanos += holdNanos;
+         maxHoldNanos = Math.max(maxHoldNanos, holdNanos);
+         if (firstStatementNanos >= 0) {
+            firstStatementBorrows++;
+            totalFirstStatementNanos += firstStatementNanos;
+         }
+         totalStatements += statements;
+      }
+
+      synchronized CallSiteProfile toProfile()
+      {
+         final StackTraceElement[] stack = key.stack;
+         final long samples = Math.max(1L, borrows);
+         final String stackTrace = Arrays.stream(stack).map(StackTraceElement::toString).collect(Collectors.joining("\n"));
+         return new CallSiteProfile(key.hash, stack.length > 0 ? stack[0].toString() : "(other call sites)", stackTrace, borrows,
+                                    toMillis(totalHoldNanos), toMillis(totalHoldNanos / samples), toMillis(maxHoldNanos),
+                                    firstStatementBorrows > 0 ? toMillis(totalFirstStatementNanos / firstStatementBorrows) : 0d,
+                                    (double) totalStatements / samples);
+      }
+
+      private static double toMillis(final long nanos)
+      {
+         return nanos / 1_000_000d;
+      }
+   }
+}
@@ -20,6 +20,10 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.health.HealthCheckRegistry;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.CallSiteProfile;
+import com.zaxxer.hikari.metrics.LatencyHistogram;
+import com.zaxxer.hikari.metrics.LatencySnapshot;
 import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
 import com.zaxxer.hikari.metrics.PoolStats;
 import com.zaxxer.hikari.metrics.dropwizard.CodahaleHealthChecker;
@@ -27,6 +31,7 @@ import com.zaxxer.hikari.metrics.dropwizard.CodahaleMetricsTrackerFactory;
 import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
 import com.zaxxer.hikari.util.ConcurrentBag;
 import com.zaxxer.hikari.util.ConcurrentBag.IBagStateListener;
+import com.zaxxer.hikari.util.ConcurrentBag.IPendingBorrow;
 import com.zaxxer.hikari.util.SuspendResumeLock;
 import com.zaxxer.hikari.util.UtilityElf.DefaultThreadFactory;
 import io.micrometer.core.instrument.MeterRegistry; 
@@ -37,15 +42,22 @@ import java.sql.SQLTransientConnectionException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -81,9 +93,11 @@ public final class HikariPool extends PoolBase implements HikariPoolMXBean, IBag
 
    private final long aliveBypassWindowMs = Long.getLong("com.zaxxer.hikari.aliveBypassWindowMs", MILLISECONDS.toMillis(500));
    private final long housekeepingPeriodMs = Long.getLong("com.zaxxer.hikari.housekeeping.periodMs", SECONDS.toMillis(30));
+   private final long adaptivePeriodMs = Long.getLong("com.zaxxer.hikari.adaptive.periodMs", SECONDS.toMillis(1));
 
    private static final String EVICTED_CONNECTION_MESSAGE = "(connection was evicted)";
    private static final String DEAD_CONNECTION_MESSAGE = "(connection is dead)";
+   private static final int PROFILED_CALL_SITES = 20;
 
    private final PoolEntryCreator poolEntryCreator = new PoolEntryCreator(null /*logging prefix*/);
    private final PoolEntryCreator postFillPoolEntryCreator = new PoolEntryCreator("After adding ");
@@ -94,10 +108,27 @@ public final class HikariPool extends PoolBase implements HikariPoolMXBean, IBag
    private final ConcurrentBag<PoolEntry> connectionBag;
 
    private final ProxyLeakTaskFactory leakTaskFactory;
+   private final ConnectionProfiler connectionProfiler;
    private final SuspendResumeLock suspendResumeLock;
+   private final PoolSizeController poolSizeController;
 
    private final ScheduledExecutorService houseKeepingExecutorService;
    private ScheduledFuture<?> houseKeeperTask;
+   private ScheduledFuture<?> poolSizeTask;
+   private ScheduledFuture<?> validationTask;
+
+   private final long backgroundValidationMs;
+   private final long validationBypassWindowMs;
+
+   private final Set<AsyncConnectionRequest> pendingAsyncRequests = ConcurrentHashMap.newKeySet();
+
+   private final LatencyHistogram acquireHistogram;
+   private final LatencyHistogram usageHistogram;
+   private final LatencyHistogram creationHistogram;
+
+   private final int connectionCreationConcurrency;
+   private final AtomicInteger creatingConnections = new AtomicInteger();
+   private volatile boolean isCreationFailing;
 
    /**
     * Construct a HikariPool with the specified configuration.
@@ -108,10 +139,24 @@ public final class HikariPool extends PoolBase implements HikariPoolMXBean, IBag
    {
       super(config);
 
-      this.connectionBag = new ConcurrentBag<>(this);
+      this.connectionBag = new ConcurrentBag<>(this, config.isFairBorrowing());
       this.suspendResumeLock = config.isAllowPoolSuspension() ? new SuspendResumeLock() : SuspendResumeLock.FAUX_LOCK;
+      this.poolSizeController = config.isAdaptivePoolSizing() ? new PoolSizeController.Adaptive(config) : new PoolSizeController(config);
 
       this.houseKeepingExecutorService = initializeHouseKeepingExecutorService();
+      this.backgroundValidationMs = config.getBackgroundValidationInterval();
+      this.validationBypassWindowMs = (backgroundValidationMs > 0 ? Math.max(aliveBypassWindowMs, 2 * backgroundValidationMs) : aliveBypassWindowMs);
+
+      if (config.isRecordLatencyHistograms()) {
+         this.acquireHistogram = new LatencyHistogram();
+         this.usageHistogram = new LatencyHistogram();
+         this.creationHistogram = new LatencyHistogram();
+      }
+      else {
+         this.acquireHistogram = null;
+         this.usageHistogram = null;
+         this.creationHistogram = null;
+      }
 
       checkFailFast();
 
@@ -131,23 +176,25 @@ public final class HikariPool extends PoolBase implements HikariPoolMXBean, IBag
       LinkedBlockingQueue<Runnable> addConnectionQueue = new LinkedBlockingQueue<>(config.getMaximumPoolSize());
       this.addConnectionQueue = unmodifiableCollection(addConnectionQueue);
       this.addConnectionExecutor = createThreadPoolExecutor(addConnectionQueue, poolName + " connection adder", threadFactory, new ThreadPoolExecutor.DiscardPolicy());
+      this.connectionCreationConcurrency = config.getConnectionCreationConcurrency();
+      setConnectionCreationThreads(connectionCreationConcurrency);
       this.closeConnectionExecutor = createThreadPoolExecutor(config.getMaximumPoolSize(), poolName + " connection closer", threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
 
       this.leakTaskFactory = new ProxyLeakTaskFactory(config.getLeakDetectionThreshold(), houseKeepingExecutorService);
+      this.connectionProfiler = new ConnectionProfiler(config.getConnectionProfilerSampleRate());
 
       this.houseKeeperTask = houseKeepingExecutorService.scheduleWithFixedDelay(new HouseKeeper(), 100L, housekeepingPeriodMs, MILLISECONDS);
 
-      if (Boolean.getBoolean("com.zaxxer.hikari.blockUntilFilled") && config.getInitializationFailTimeout() > 1) {
-         addConnectionExecutor.setCorePoolSize(Runtime.getRuntime().availableProcessors());
-         addConnectionExecutor.setMaximumPoolSize(Runtime.getRuntime().availableProcessors());
+      if (config.isAdaptivePoolSizing()) {
+         this.poolSizeTask = houseKeepingExecutorService.scheduleWithFixedDelay(this::adjustPoolSize, adaptivePeriodMs, adaptivePeriodMs, MILLISECONDS);
+      }
 
-         final long startTime = currentTime();
-         while (elapsedMillis(startTime) < config.getInitializationFailTimeout() && getTotalConnections() < config.getMinimumIdle()) {
-            quietlySleep(MILLISECONDS.toMillis(100));
-         }
+      if (backgroundValidationMs > 0) {
+         this.validationTask = houseKeepingExecutorService.scheduleWithFixedDelay(this::validateIdleConnections, backgroundValidationMs, backgroundValidationMs, MILLISECONDS);
+      }
 
-         addConnectionExecutor.setCorePoolSize(1);
-         addConnectionExecutor.setMaximumPoolSize(1);
+      if (Boolean.getBoolean("com.zaxxer.hikari.blockUntilFilled") && config.getInitializationFailTimeout() > 1) {
+         warmUp(config.getInitializationFailTimeout());
       }
    }
 
@@ -183,13 +230,14 @@ public final class HikariPool extends PoolBase implements HikariPoolMXBean, IBag
             }
 
             final long now = currentTime();
-            if (poolEntry.isMarkedEvicted() || (elapsedMillis(poolEntry.lastAccessed, now) > aliveBypassWindowMs && !isConnectionAlive(poolEntry.connection))) {
+            if (poolEntry.isMarkedEvicted() || isConnectionDead(poolEntry, now)) {
                closeConnection(poolEntry, poolEntry.isMarkedEvicted() ? EVICTED_CONNECTION_MESSAGE : DEAD_CONNECTION_MESSAGE);
                timeout = hardTimeout - elapsedMillis(startTime);
             }
             else {
                metricsTracker.recordBorrowStats(poolEntry, startTime);
-               return poolEntry.createProxyConnection(leakTaskFactory.schedule(poolEntry), now);
+               poolSizeController.recordBorrow(poolEntry, startTime);
+               return poolEntry.createProxyConnection(leakTaskFactory.schedule(poolEntry), connectionProfiler.sample().start(now), now);
             }
          } while (timeout > 0L);
 
@@ -205,6 +253,56 @@ public final class HikariPool extends PoolBase implements HikariPoolMXBean, IBag
       }
    }
 
+   /**
+    * Get a connection from the pool asynchronously.  No thread is blocked while waiting for a connection: if none is
+    * available the request is queued in the pool and completed when a connection is returned or added, or completed
+    * exceptionally with a {@link SQLTransientConnectionException} after connectionTimeout milliseconds.  Timeouts are
+    * driven by the housekeeping executor.
+    *
+    * @param executor the executor used to validate the acquired connection and complete the returned future
+    * @return a future that is completed with a java.sql.Connection instance
+    */
+   public CompletableFuture<Connection> getConnectionAsync(final Executor executor)
+   {
+      final AsyncConnectionRequest request = new AsyncConnectionRequest(executor);
+      if (suspendResumeLock.tryAcquire()) {
+         request.start();
+      }
+      else {
+         try {
+            executor.execute(request::startWhenResumed);
+         }
+         catch (RejectedExecutionException e) {
+            request.future.completeExceptionally(new SQLException(poolName + " - Executor rejected connection acquisition", e));
+         }
+      }
+
+      return request.future;
+   }
+
+   /**
+    * Fill the pool to {@code minimumIdle} connections, creating up to {@code connectionCreationConcurrency}
+    * connections in parallel, and wait until they have been added or the timeout expires.
+    *
+    * @param timeoutMs the maximum number of milliseconds to wait
+    * @return true if the pool holds at least {@code minimumIdle} connections, false if the timeout expired first
+    */
+   public boolean warmUp(final long timeoutMs)
+   {
+      fillPool();
+
+      final long startTime = currentTime();
+      while (getTotalConnections() < Math.min(config.getMinimumIdle(), poolSizeController.getTargetPoolSize())) {
+         if (poolState == POOL_SHUTDOWN || elapsedMillis(startTime) >= timeoutMs) {
+            return false;
+         }
+
+         quietlySleep(10L);
+      }
+
+      return true;
+   }
+
    /**
     * Shutdown the pool, closing all idle connections and aborting or closing
     * active connections.
@@ -227,8 +325,20 @@ public final class HikariPool extends PoolBase implements HikariPoolMXBean, IBag
             houseKeeperTask = null;
          }
 
+         if (poolSizeTask != null) {
+            poolSizeTask.cancel(false);
+            poolSizeTask = null;
+         }
+
+         if (validationTask != null) {
+            validationTask.cancel(false);
+            validationTask = null;
+         }
+
          softEvictConnections();
 
+         pendingAsyncRequests.forEach(AsyncConnectionRequest::abort);
+
          addConnectionExecutor.shutdown();
          addConnectionExecutor.awaitTermination(getLoginTimeout(), SECONDS);
 
@@ -272,7 +382,9 @@ public final class HikariPool extends PoolBase implements HikariPoolMXBean, IBag
       proxyConnection.cancelLeakTask();
 
       try {
-         softEvictConnection(proxyConnection.getPoolEntry(), "(connection evicted by user)", !connection.isClosed() /* owner */);
+         // the connection may belong to a replica pool of the same HikariDataSource
+         final PoolEntry poolEntry = proxyConnection.getPoolEntry();
+         poolEntry.getPool().softEvictConnection(poolEntry, "(connection evicted by user)", !connection.isClosed() /* owner */);
       }
       catch (SQLException e) {
          // unreachable in HikariCP, but we're still forced to catch it
@@ -305,8 +417,13 @@ public final class HikariPool extends PoolBase implements HikariPoolMXBean, IBag
     */
    public void setMetricsTrackerFactory(MetricsTrackerFactory metricsTrackerFactory)
    {
-      if (metricsTrackerFactory != null) {
-         this.metricsTracker = new MetricsTrackerDelegate(metricsTrackerFactory.create(config.getPoolName(), getPoolStats()));
+      final IMetricsTracker tracker = (metricsTrackerFactory != null ? metricsTrackerFactory.create(config.getPoolName(), getPoolStats()) : null);
+      if (acquireHistogram != null) {
+         this.metricsTracker = new HistogramMetricsTrackerDelegate(tracker != null ? tracker : new IMetricsTracker() {},
+                                                                   acquireHistogram, usageHistogram, creationHistogram);
+      }
+      else if (tracker != null) {
+         this.metricsTracker = new MetricsTrackerDelegate(tracker);
       }
       else {
          this.metricsTracker = new NopMetricsTrackerDelegate();
@@ -372,6 +489,48 @@ public final class HikariPool extends PoolBase implements HikariPoolMXBean, IBag
       return connectionBag.getWaitingThreadCount();
    }
 
+   /** {@inheritDoc} */
+   @Override
+   public LatencySnapshot getConnectionAcquireLatency()
+   {
+      return acquireHistogram != null ? acquireHistogram.getSnapshot() : LatencySnapshot.EMPTY;
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public LatencySnapshot getConnectionUsageLatency()
+   {
+      return usageHistogram != null ? usageHistogram.getSnapshot() : LatencySnapshot.EMPTY;
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public LatencySnapshot getConnectionCreationLatency()
+   {
+      return creationHistogram != null ? creationHistogram.getSnapshot() : LatencySnapshot.EMPTY;
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public List<CallSiteProfile> getConnectionProfile()
+   {
+      return connectionProfiler.getProfiles(PROFILED_CALL_SITES);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void resetConnectionProfile()
+   {
+      connectionProfiler.reset();
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public int getTargetPoolSize()
+   {
+      return poolSizeController.getTargetPoolSize();
+   }
+
    /** {@inheritDoc} */
    @Override
    public void softEvictConnections()
@@ -430,6 +589,7 @@ public final class HikariPool extends PoolBase implements HikariPoolMXBean, IBag
    void recycle(final PoolEntry poolEntry)
    {
       metricsTracker.recordConnectionUsage(poolEntry);
+      poolSizeController.recordUsage(poolEntry);
 
       connectionBag.requite(poolEntry);
    }
@@ -463,6 +623,24 @@ public final class HikariPool extends PoolBase implements HikariPoolMXBean, IBag
    //                           Private methods
    // ***********************************************************************
 
+   /**
+    * Set the number of threads used to create connections.
+    *
+    * @param threads the number of connection creation threads
+    */
+   private void setConnectionCreationThreads(final int threads)
+   {
+      // the maximum must be raised before the core size, and the core size lowered before the maximum
+      if (threads > addConnectionExecutor.getMaximumPoolSize()) {
+         addConnectionExecutor.setMaximumPoolSize(threads);
+         addConnectionExecutor.setCorePoolSize(threads);
+      }
+      else {
+         addConnectionExecutor.setCorePoolSize(threads);
+         addConnectionExecutor.setMaximumPoolSize(threads);
+      }
+   }
+
    /**
     * Creating new poolEntry.  If maxLifetime is configured, create a future End-of-life task with 2.5% variance from
     * the maxLifetime time to ensure there is no massive die-off of Connections in the pool.
@@ -508,13 +686,95 @@ public final class HikariPool extends PoolBase implements HikariPoolMXBean, IBag
     */
    private synchronized void fillPool()
    {
-      final int connectionsToAdd = Math.min(config.getMaximumPoolSize() - getTotalConnections(), config.getMinimumIdle() - getIdleConnections())
+      final int connectionsToAdd = Math.min(poolSizeController.getTargetPoolSize() - getTotalConnections(), config.getMinimumIdle() - getIdleConnections())
                                    - addConnectionQueue.size();
       for (int i = 0; i < connectionsToAdd; i++) {
          addConnectionExecutor.submit((i < connectionsToAdd - 1) ? poolEntryCreator : postFillPoolEntryCreator);
       }
    }
 
+   /**
+    * Determine whether a connection taken from the bag is dead.  Connections used or validated within the bypass
+    * window are assumed alive; otherwise the connection is validated, recording the time of a successful validation.
+    * With background validation the window is twice the validation interval, so idle connections are normally
+    * validated by {@link #validateIdleConnections()} rather than on the borrow path.
+    *
+    * @param poolEntry the borrowed entry
+    * @param now the current time
+    * @return true if the connection failed validation
+    */
+   private boolean isConnectionDead(final PoolEntry poolEntry, final long now)
+   {
+      if (Math.min(elapsedMillis(poolEntry.lastAccessed, now), elapsedMillis(poolEntry.lastValidated, now)) <= validationBypassWindowMs) {
+         return false;
+      }
+
+      if (isConnectionAlive(poolEntry.connection)) {
+         poolEntry.lastValidated = currentTime();
+         return false;
+      }
+
+      return true;
+   }
+
+   /**
+    * Validate idle connections that have been neither used nor validated for half the background validation
+    * interval, closing those that are dead.  Each connection is reserved while it is validated.
+    */
+   private void validateIdleConnections()
+   {
+      try {
+         final long threshold = backgroundValidationMs / 2;
+         for (PoolEntry entry : connectionBag.values(STATE_NOT_IN_USE)) {
+            if (poolState != POOL_NORMAL) {
+               break;
+            }
+
+            final long now = currentTime();
+            if (Math.min(elapsedMillis(entry.lastAccessed, now), elapsedMillis(entry.lastValidated, now)) > threshold && connectionBag.reserve(entry)) {
+               if (isConnectionAlive(entry.connection)) {
+                  entry.lastValidated = currentTime();
+                  connectionBag.unreserve(entry);
+               }
+               else {
+                  closeConnection(entry, DEAD_CONNECTION_MESSAGE);
+               }
+            }
+         }
+      }
+      catch (Exception e) {
+         logger.error("{} - Unexpected exception in background validation task", poolName, e);
+      }
+   }
+
+   /**
+    * Re-evaluate the adaptive target pool size, retiring idle connections above the new target, or
+    * requesting new connections for waiting threads if the target was raised.
+    */
+   private void adjustPoolSize()
+   {
+      try {
+         final int waiting = getThreadsAwaitingConnection();
+         final int target = poolSizeController.adjust(waiting, getActiveConnections());
+
+         int excess = getTotalConnections() - target;
+         if (excess > 0) {
+            for (PoolEntry entry : connectionBag.values(STATE_NOT_IN_USE)) {
+               if (excess > 0 && connectionBag.reserve(entry)) {
+                  closeConnection(entry, "(connection retired by adaptive pool sizing)");
+                  excess--;
+               }
+            }
+         }
+         else if (waiting > 0) {
+            addBagItem(waiting);
+         }
+      }
+      catch (Exception e) {
+         logger.error("{} - Unexpected exception in adaptive pool sizing task", poolName, e);
+      }
+   }
+
    /**
     * Attempt to abort or close active connections.
     *
@@ -715,10 +975,21 @@ public final class HikariPool extends PoolBase implements HikariPoolMXBean, IBag
       public Boolean call()
       {
          long sleepBackoff = 250L;
-         while (poolState == POOL_NORMAL && shouldCreateAnotherConnection()) {
+         while (poolState == POOL_NORMAL && shouldCreateAnotherConnection(creatingConnections.get())) {
+            if (!startCreation()) {
+               if (!shouldCreateAnotherConnection(creatingConnections.get())) {
+                  break; // the connections being created by other creators cover the need
+               }
+
+               // all creation slots are busy, or another creator is retrying after a failure, wait our turn
+               quietlySleep(sleepBackoff);
+               continue;
+            }
+
             final PoolEntry poolEntry = createPoolEntry();
             if (poolEntry != null) {
                connectionBag.add(poolEntry);
+               endCreation(true);
                logger.debug("{} - Added connection {}", poolName, poolEntry.connection);
                if (loggingPrefix != null) {
                   logPoolState(loggingPrefix);
@@ -727,22 +998,51 @@ public final class HikariPool extends PoolBase implements HikariPoolMXBean, IBag
             }
 
             // failed to get connection from db, sleep and retry
+            endCreation(false);
             quietlySleep(sleepBackoff);
             sleepBackoff = Math.min(SECONDS.toMillis(10), Math.min(connectionTimeout, (long) (sleepBackoff * 1.5)));
          }
-         // Pool is suspended or shutdown or at max size
+         // Pool is suspended or shutdown or at max size, or no more connections are needed
          return Boolean.FALSE;
       }
 
       /**
        * We only create connections if we need another idle connection or have threads still waiting
-       * for a new connection.  Otherwise we bail out of the request to create.
+       * for a new connection, beyond those already being created.  Otherwise we bail out of the request
+       * to create.
        *
+       * @param creating the number of connections currently being created
        * @return true if we should create a connection, false if the need has disappeared
        */
-      private synchronized boolean shouldCreateAnotherConnection() {
-         return getTotalConnections() < config.getMaximumPoolSize() &&
-            (connectionBag.getWaitingThreadCount() > 0 || getIdleConnections() < config.getMinimumIdle());
+      private boolean shouldCreateAnotherConnection(final int creating) {
+         return getTotalConnections() + creating < poolSizeController.getTargetPoolSize() &&
+            creating < Math.max(connectionBag.getWaitingThreadCount(), config.getMinimumIdle() - getIdleConnections());
+      }
+
+      /**
+       * Claim one of the concurrent connection creation slots.  While connection creation is failing only one
+       * creator at a time is allowed to try, so that parallel creators back off together.
+       *
+       * @return true if a slot was claimed, false if the need has disappeared or no slot is available
+       */
+      private boolean startCreation()
+      {
+         for (;;) {
+            final int creating = creatingConnections.get();
+            if (creating >= (isCreationFailing ? 1 : connectionCreationConcurrency) || !shouldCreateAnotherConnection(creating)) {
+               return false;
+            }
+
+            if (creatingConnections.compareAndSet(creating, creating + 1)) {
+               return true;
+            }
+         }
+      }
+
+      private void endCreation(final boolean succeeded)
+      {
+         isCreationFailing = !succeeded;
+         creatingConnections.decrementAndGet();
       }
    }
 
@@ -806,6 +1106,168 @@ public final class HikariPool extends PoolBase implements HikariPoolMXBean, IBag
       }
    }
 
+   /**
+    * A pending {@link #getConnectionAsync(Executor)} request.  The request is queued in the ConcurrentBag as a
+    * callback, and the connection handed to it is validated and delivered on the request's executor.
+    */
+   private final class AsyncConnectionRequest implements Consumer<PoolEntry>
+   {
+      final CompletableFuture<Connection> future = new CompletableFuture<>();
+
+      private final Executor executor;
+      private final long startTime;
+      private final ConnectionProfiler.Borrow profiledBorrow;
+
+      private volatile boolean handedOff;
+      private volatile IPendingBorrow pendingBorrow;
+      private volatile ScheduledFuture<?> timeoutTask;
+
+      AsyncConnectionRequest(final Executor executor)
+      {
+         this.executor = executor;
+         this.startTime = currentTime();
+         this.profiledBorrow = connectionProfiler.sample();
+
+         future.whenComplete((connection, t) -> {
+            if (future.isCancelled()) {
+               cancel();
+            }
+         });
+      }
+
+      /**
+       * Queue the request, holding a suspendResumeLock permit which is released once the request is queued.
+       */
+      void start()
+      {
+         try {
+            borrow();
+         }
+         finally {
+            suspendResumeLock.release();
+         }
+      }
+
+      /**
+       * Queue the request once the pool is resumed, this blocks and therefore runs on the request's executor.
+       */
+      void startWhenResumed()
+      {
+         try {
+            suspendResumeLock.acquire();
+         }
+         catch (SQLException e) {
+            future.completeExceptionally(e);
+            return;
+         }
+
+         start();
+      }
+
+      /** Called by the ConcurrentBag, possibly on the thread returning a connection, so hand off to the executor. */
+      @Override
+      public void accept(final PoolEntry poolEntry)
+      {
+         handedOff = true;
+         pendingAsyncRequests.remove(this);
+         try {
+            executor.execute(() -> complete(poolEntry));
+         }
+         catch (RejectedExecutionException e) {
+            cancelTimeout();
+            connectionBag.requite(poolEntry);
+            future.completeExceptionally(new SQLException(poolName + " - Executor rejected connection acquisition", e));
+         }
+      }
+
+      /**
+       * Fail the request because the pool is shutting down, unless a connection has already been handed to it.
+       */
+      void abort()
+      {
+         final IPendingBorrow pending = pendingBorrow;
+         if (pending != null && pending.cancel()) {
+            pendingAsyncRequests.remove(this);
+            cancelTimeout();
+            future.completeExceptionally(new SQLException(poolName + " - Pool was shutdown during connection acquisition"));
+         }
+      }
+
+      private void borrow()
+      {
+         final long timeout = connectionTimeout - elapsedMillis(startTime);
+         if (timeout <= 0L) {
+            failWithTimeout();
+            return;
+         }
+
+         handedOff = false;
+         pendingAsyncRequests.add(this);
+         final IPendingBorrow pending = connectionBag.borrow(this);
+         if (!handedOff) {
+            pendingBorrow = pending;
+            timeoutTask = houseKeepingExecutorService.schedule(() -> {
+               if (pending.cancel()) {
+                  pendingAsyncRequests.remove(this);
+                  failWithTimeout();
+               }
+            }, timeout, MILLISECONDS);
+         }
+      }
+
+      private void complete(final PoolEntry poolEntry)
+      {
+         cancelTimeout();
+
+         if (future.isDone()) {
+            connectionBag.requite(poolEntry); // cancelled by the caller after the hand-off
+            return;
+         }
+
+         final long now = currentTime();
+         if (poolEntry.isMarkedEvicted() || isConnectionDead(poolEntry, now)) {
+            closeConnection(poolEntry, poolEntry.isMarkedEvicted() ? EVICTED_CONNECTION_MESSAGE : DEAD_CONNECTION_MESSAGE);
+            borrow();
+            return;
+         }
+
+         metricsTracker.recordBorrowStats(poolEntry, startTime);
+         poolSizeController.recordBorrow(poolEntry, startTime);
+         final Connection connection = poolEntry.createProxyConnection(leakTaskFactory.schedule(poolEntry), profiledBorrow.start(now), now);
+         if (!future.complete(connection)) {
+            try {
+               connection.close(); // cancelled by the caller concurrently, return the connection to the pool
+            }
+            catch (SQLException e) {
+               // ignore
+            }
+         }
+      }
+
+      private void cancel()
+      {
+         final IPendingBorrow pending = pendingBorrow;
+         if (pending != null && pending.cancel()) {
+            pendingAsyncRequests.remove(this);
+            cancelTimeout();
+         }
+      }
+
+      private void cancelTimeout()
+      {
+         final ScheduledFuture<?> task = timeoutTask;
+         if (task != null) {
+            task.cancel(false);
+         }
+      }
+
+      private void failWithTimeout()
+      {
+         metricsTracker.recordBorrowTimeoutStats(startTime);
+         future.completeExceptionally(createTimeoutException(startTime));
+      }
+   }
+
    public static class PoolInitializationException extends RuntimeException
    {
       private static final long serialVersionUID = 929872118275916520L;
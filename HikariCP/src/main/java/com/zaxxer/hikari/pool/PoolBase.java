@@ -18,6 +18,7 @@ package com.zaxxer.hikari.pool;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.LatencyHistogram;
 import com.zaxxer.hikari.pool.HikariPool.PoolInitializationException;
 import com.zaxxer.hikari.util.DriverDataSource;
 import com.zaxxer.hikari.util.PropertyElf;
@@ -49,6 +50,7 @@ import static com.zaxxer.hikari.pool.ProxyConnection.*;
 import static com.zaxxer.hikari.util.ClockSource.*;
 import static com.zaxxer.hikari.util.UtilityElf.createInstance;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 abstract class PoolBase
@@ -65,6 +67,7 @@ abstract class PoolBase
 
    long connectionTimeout;
    long validationTimeout;
+   final int statementCacheSize;
 
    private static final String[] RESET_STATES = {"readOnly", "autoCommit", "isolation", "catalog", "netTimeout", "schema"};
    private static final int UNINITIALIZED = -1;
@@ -107,6 +110,7 @@ abstract class PoolBase
       this.poolName = config.getPoolName();
       this.connectionTimeout = config.getConnectionTimeout();
       this.validationTimeout = config.getValidationTimeout();
+      this.statementCacheSize = config.getPreparedStatementCacheSize();
       this.lastConnectionFailure = new AtomicReference<>();
 
       initializeDataSource();
@@ -149,9 +153,13 @@ abstract class PoolBase
 
    boolean isConnectionAlive(final Connection connection)
    {
+      // skip the network timeout swap, two driver calls, when the connection already uses the validation timeout
+      final boolean isSwapNetworkTimeout = validationTimeout != networkTimeout;
       try {
          try {
-            setNetworkTimeout(connection, validationTimeout);
+            if (isSwapNetworkTimeout) {
+               setNetworkTimeout(connection, validationTimeout);
+            }
 
             final int validationSeconds = (int) Math.max(1000L, validationTimeout) / 1000;
 
@@ -168,7 +176,9 @@ abstract class PoolBase
             }
          }
          finally {
-            setNetworkTimeout(connection, networkTimeout);
+            if (isSwapNetworkTimeout) {
+               setNetworkTimeout(connection, networkTimeout);
+            }
 
             if (isIsolateInternalQueries && !isAutoCommit) {
                connection.rollback();
@@ -689,6 +699,12 @@ abstract class PoolBase
 
       default void recordConnectionTimeout() {}
 
+      default void recordStatementCacheHit() {}
+
+      default void recordStatementCacheMiss() {}
+
+      default void recordStatementCacheEviction() {}
+
       @Override
       default void close() {}
    }
@@ -738,6 +754,24 @@ abstract class PoolBase
          tracker.recordConnectionTimeout();
       }
 
+      @Override
+      public void recordStatementCacheHit()
+      {
+         tracker.recordStatementCacheHit();
+      }
+
+      @Override
+      public void recordStatementCacheMiss()
+      {
+         tracker.recordStatementCacheMiss();
+      }
+
+      @Override
+      public void recordStatementCacheEviction()
+      {
+         tracker.recordStatementCacheEviction();
+      }
+
       @Override
       public void close()
       {
@@ -745,6 +779,58 @@ abstract class PoolBase
       }
    }
 
+   /**
+    * A MetricsTrackerDelegate that also records connection acquire, usage and creation times in the
+    * pool's native latency histograms.
+    */
+   static final class HistogramMetricsTrackerDelegate extends MetricsTrackerDelegate
+   {
+      private final LatencyHistogram acquireHistogram;
+      private final LatencyHistogram usageHistogram;
+      private final LatencyHistogram creationHistogram;
+
+      HistogramMetricsTrackerDelegate(IMetricsTracker tracker, LatencyHistogram acquireHistogram, LatencyHistogram usageHistogram, LatencyHistogram creationHistogram)
+      {
+         super(tracker);
+         this.acquireHistogram = acquireHistogram;
+         this.usageHistogram = usageHistogram;
+         this.creationHistogram = creationHistogram;
+      }
+
+      @Override
+      public void recordConnectionUsage(final PoolEntry poolEntry)
+      {
+         final long elapsedNanos = elapsedNanos(poolEntry.lastBorrowed);
+         usageHistogram.record(elapsedNanos);
+         tracker.recordConnectionUsageMillis(NANOSECONDS.toMillis(elapsedNanos));
+      }
+
+      @Override
+      public void recordConnectionCreated(long connectionCreatedMillis)
+      {
+         creationHistogram.record(MILLISECONDS.toNanos(connectionCreatedMillis));
+         tracker.recordConnectionCreatedMillis(connectionCreatedMillis);
+      }
+
+      @Override
+      public void recordBorrowTimeoutStats(long startTime)
+      {
+         final long elapsedNanos = elapsedNanos(startTime);
+         acquireHistogram.record(elapsedNanos);
+         tracker.recordConnectionAcquiredNanos(elapsedNanos);
+      }
+
+      @Override
+      public void recordBorrowStats(final PoolEntry poolEntry, final long startTime)
+      {
+         final long now = currentTime();
+         poolEntry.lastBorrowed = now;
+         final long elapsedNanos = elapsedNanos(startTime, now);
+         acquireHistogram.record(elapsedNanos);
+         tracker.recordConnectionAcquiredNanos(elapsedNanos);
+      }
+   }
+
    /**
     * A no-op implementation of the IMetricsTrackerDelegate that is used when metrics capture is
     * disabled.
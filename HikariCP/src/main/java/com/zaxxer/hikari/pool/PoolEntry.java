@@ -42,6 +42,8 @@ final class PoolEntry implements IConcurrentBagEntry
    Connection connection;
    long lastAccessed;
    long lastBorrowed;
+   long lastValidated;
+   final StatementCache statementCache;
  
    private volatile int state = 0;
    private volatile boolean evict;
@@ -66,7 +68,9 @@ final class PoolEntry implements IConcurrentBagEntry
       this.isReadOnly = isReadOnly;
       this.isAutoCommit = isAutoCommit;
       this.lastAccessed = currentTime();
+      this.lastValidated = lastAccessed;
       this.openStatements = new FastList<>(Statement.class, 16);
+      this.statementCache = pool.statementCacheSize > 0 ? new StatementCache(pool, pool.statementCacheSize) : null;
    }
 
    /**
@@ -92,9 +96,9 @@ final class PoolEntry implements IConcurrentBagEntry
       this.endOfLife = endOfLife;
    }
 
-   Connection createProxyConnection(final ProxyLeakTask leakTask, final long now)
+   Connection createProxyConnection(final ProxyLeakTask leakTask, final ConnectionProfiler.Borrow profiledBorrow, final long now)
    {
-      return ProxyFactory.getProxyConnection(this, connection, openStatements, leakTask, now, isReadOnly, isAutoCommit);
+      return ProxyFactory.getProxyConnection(this, connection, openStatements, leakTask, profiledBorrow, now, isReadOnly, isAutoCommit);
    }
 
    void resetConnectionState(final ProxyConnection proxyConnection, final int dirtyBits) throws SQLException
@@ -107,6 +111,11 @@ final class PoolEntry implements IConcurrentBagEntry
       return hikariPool.toString();
    }
 
+   HikariPool getPool()
+   {
+      return hikariPool;
+   }
+
    boolean isMarkedEvicted()
    {
       return evict;
@@ -170,6 +179,10 @@ final class PoolEntry implements IConcurrentBagEntry
          LOGGER.warn("{} - maxLifeTime expiration task cancellation unexpectedly returned false for connection {}", getPoolName(), connection);
       }
 
+      if (statementCache != null) {
+         statementCache.clear();
+      }
+
       Connection con = connection;
       connection = null;
       endOfLife = null;
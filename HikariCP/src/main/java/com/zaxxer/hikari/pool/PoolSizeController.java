@@ -0,0 +1,154 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.zaxxer.hikari.pool;
+
+import com.zaxxer.hikari.HikariConfig;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.zaxxer.hikari.util.ClockSource.currentTime;
+import static com.zaxxer.hikari.util.ClockSource.elapsedMillis;
+import static com.zaxxer.hikari.util.ClockSource.elapsedNanos;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * This class determines the number of connections the pool is allowed to hold.  The default
+ * implementation simply allows up to maximumPoolSize connections, and its recording methods
+ * are empty so that they hopefully get fully "optimized away" by the JIT.
+ */
+class PoolSizeController
+{
+   final HikariConfig config;
+
+   PoolSizeController(final HikariConfig config)
+   {
+      this.config = config;
+   }
+
+   /**
+    * Get the number of connections the pool may currently hold.
+    *
+    * @return the target pool size
+    */
+   int getTargetPoolSize()
+   {
+      return config.getMaximumPoolSize();
+   }
+
+   void recordBorrow(final PoolEntry poolEntry, final long startTime) {}
+
+   void recordUsage(final PoolEntry poolEntry) {}
+
+   /**
+    * Re-evaluate the target pool size from the statistics gathered since the previous call.
+    *
+    * @param waiting the number of threads currently waiting for a connection
+    * @param active the number of connections currently in use
+    * @return the new target pool size
+    */
+   int adjust(final int waiting, final int active)
+   {
+      return getTargetPoolSize();
+   }
+
+   /**
+    * An AIMD (additive increase, multiplicative decrease) controller, similar to a concurrency
+    * limiter, that keeps the target pool size between minimumIdle and maximumPoolSize.
+    * <p>
+    * When borrowers are waiting, or the mean acquisition time exceeds a threshold, the target is
+    * increased by the number of waiting threads (at least one).  When the concurrency actually
+    * needed -- the borrow rate multiplied by the mean usage time (Little's law) -- falls well below
+    * the target, the target is decreased by a constant factor, but never below that demand or the
+    * number of connections in use.  Borrows still outstanding at the end of a period count towards
+    * the mean usage time as having lasted the whole period, so connections held for longer than a
+    * period are not mistaken for an idle pool.
+    */
+   static final class Adaptive extends PoolSizeController
+   {
+      private static final long ACQUIRE_THRESHOLD_NANOS = MILLISECONDS.toNanos(Long.getLong("com.zaxxer.hikari.adaptive.acquireThresholdMs", 1L));
+      private static final double DECREASE_FACTOR = 0.9d;
+      private static final double DECREASE_UTILIZATION = 0.5d;
+
+      private final LongAdder borrows = new LongAdder();
+      private final LongAdder acquireNanos = new LongAdder();
+      private final LongAdder usages = new LongAdder();
+      private final LongAdder usageMillis = new LongAdder();
+
+      private volatile int targetPoolSize;
+      private long windowStart;
+
+      Adaptive(final HikariConfig config)
+      {
+         super(config);
+         this.targetPoolSize = config.getMaximumPoolSize();
+         this.windowStart = currentTime();
+      }
+
+      @Override
+      int getTargetPoolSize()
+      {
+         return Math.min(targetPoolSize, config.getMaximumPoolSize());
+      }
+
+      @Override
+      void recordBorrow(final PoolEntry poolEntry, final long startTime)
+      {
+         final long now = currentTime();
+         poolEntry.lastBorrowed = now;
+         borrows.increment();
+         acquireNanos.add(elapsedNanos(startTime, now));
+      }
+
+      @Override
+      void recordUsage(final PoolEntry poolEntry)
+      {
+         usages.increment();
+         usageMillis.add(elapsedMillis(poolEntry.lastBorrowed));
+      }
+
+      @Override
+      int adjust(final int waiting, final int active)
+      {
+         final long now = currentTime();
+         final long windowMillis = Math.max(1L, elapsedMillis(windowStart, now));
+         windowStart = now;
+
+         final long borrowCount = borrows.sumThenReset();
+         final long acquireTotal = acquireNanos.sumThenReset();
+         final long usageCount = usages.sumThenReset();
+         final long usageTotal = usageMillis.sumThenReset();
+
+         final int maximum = config.getMaximumPoolSize();
+         final int minimum = Math.max(1, Math.min(config.getMinimumIdle(), maximum));
+         final int current = getTargetPoolSize();
+
+         final long meanAcquireNanos = borrowCount > 0 ? acquireTotal / borrowCount : 0L;
+         final long usageSamples = usageCount + active;
+         final double meanUsageMillis = usageSamples > 0 ? (double) (usageTotal + active * windowMillis) / usageSamples : 0d;
+         final int demand = Math.max(active, (int) Math.ceil(borrowCount * meanUsageMillis / windowMillis));
+
+         int target = current;
+         if (waiting > 0 || meanAcquireNanos > ACQUIRE_THRESHOLD_NANOS) {
+            target = current + Math.max(1, waiting);
+         }
+         else if (demand < current * DECREASE_UTILIZATION) {
+            target = Math.max(demand, (int) (current * DECREASE_FACTOR));
+         }
+
+         targetPoolSize = Math.max(minimum, Math.min(maximum, Math.max(active, target)));
+         return targetPoolSize;
+      }
+   }
+}
@@ -52,6 +52,7 @@ public abstract class ProxyConnection implements Connection
 
    private final PoolEntry poolEntry;
    private final ProxyLeakTask leakTask;
+   private final ConnectionProfiler.Borrow profiledBorrow;
    private final FastList<Statement> openStatements;
 
    private int dirtyBits;
@@ -83,11 +84,12 @@ public abstract class ProxyConnection implements Connection
       ERROR_CODES.add(2399);
    }
 
-   protected ProxyConnection(final PoolEntry poolEntry, final Connection connection, final FastList<Statement> openStatements, final ProxyLeakTask leakTask, final long now, final boolean isReadOnly, final boolean isAutoCommit) {
+   protected ProxyConnection(final PoolEntry poolEntry, final Connection connection, final FastList<Statement> openStatements, final ProxyLeakTask leakTask, final ConnectionProfiler.Borrow profiledBorrow, final long now, final boolean isReadOnly, final boolean isAutoCommit) {
       this.poolEntry = poolEntry;
       this.delegate = connection;
       this.openStatements = openStatements;
       this.leakTask = leakTask;
+      this.profiledBorrow = profiledBorrow;
       this.lastAccess = now;
       this.isReadOnly = isReadOnly;
       this.isAutoCommit = isAutoCommit;
@@ -183,11 +185,31 @@ public abstract class ProxyConnection implements Connection
       }
    }
 
+   final void markStatementExecuted()
+   {
+      profiledBorrow.statementExecuted();
+      markCommitStateDirty();
+   }
+
    void cancelLeakTask()
    {
       leakTask.cancel();
    }
 
+   /**
+    * Get the statement cache that closed PreparedStatements may be returned to.
+    *
+    * @return the statement cache, or null if statement caching is disabled or this connection is closed or broken
+    */
+   final StatementCache getStatementCache()
+   {
+      if (delegate == ClosedConnection.CLOSED_CONNECTION || poolEntry.isMarkedEvicted()) {
+         return null;
+      }
+
+      return poolEntry.statementCache;
+   }
+
    private synchronized <T extends Statement> T trackStatement(final T statement)
    {
       openStatements.add(statement);
@@ -195,6 +217,18 @@ public abstract class ProxyConnection implements Connection
       return statement;
    }
  
+   private PreparedStatement prepareCachedStatement(final StatementCache statementCache, final StatementCache.Key key) throws SQLException
+   {
+      PreparedStatement statement = statementCache.take(key);
+      if (statement == null) {
+         statement = key.prepare(delegate);
+      }
+
+      final ProxyPreparedStatement proxyStatement = (ProxyPreparedStatement) ProxyFactory.getProxyPreparedStatement(this, trackStatement(statement));
+      proxyStatement.cacheKey = key;
+      return proxyStatement;
+   }
+
    private synchronized void closeStatements()
    {
       final int size = openStatements.size();
@@ -224,6 +258,8 @@ public abstract class ProxyConnection implements Connection
    @Override
    public final void close() throws SQLException
    {
+      profiledBorrow.end();
+
       // Closing statements can cause connection eviction, so this must run before the conditional below
       closeStatements();
 
@@ -311,6 +347,11 @@ public abstract class ProxyConnection implements Connection
    @Override
    public PreparedStatement prepareStatement(String sql) throws SQLException
    {
+      final StatementCache statementCache = poolEntry.statementCache;
+      if (statementCache != null) {
+         return prepareCachedStatement(statementCache, new StatementCache.Key(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, StatementCache.Key.DEFAULT_HOLDABILITY));
+      }
+
       return ProxyFactory.getProxyPreparedStatement(this, trackStatement(delegate.prepareStatement(sql)));
    }
 
@@ -325,6 +366,11 @@ public abstract class ProxyConnection implements Connection
    @Override
    public PreparedStatement prepareStatement(String sql, int resultSetType, int concurrency) throws SQLException
    {
+      final StatementCache statementCache = poolEntry.statementCache;
+      if (statementCache != null) {
+         return prepareCachedStatement(statementCache, new StatementCache.Key(sql, resultSetType, concurrency, StatementCache.Key.DEFAULT_HOLDABILITY));
+      }
+
       return ProxyFactory.getProxyPreparedStatement(this, trackStatement(delegate.prepareStatement(sql, resultSetType, concurrency)));
    }
 
@@ -332,6 +378,11 @@ public abstract class ProxyConnection implements Connection
    @Override
    public PreparedStatement prepareStatement(String sql, int resultSetType, int concurrency, int holdability) throws SQLException
    {
+      final StatementCache statementCache = poolEntry.statementCache;
+      if (statementCache != null) {
+         return prepareCachedStatement(statementCache, new StatementCache.Key(sql, resultSetType, concurrency, holdability));
+      }
+
       return ProxyFactory.getProxyPreparedStatement(this, trackStatement(delegate.prepareStatement(sql, resultSetType, concurrency, holdability)));
    }
 
@@ -27,11 +27,141 @@ import java.sql.SQLException;
  */
 public abstract class ProxyPreparedStatement extends ProxyStatement implements PreparedStatement
 {
+   StatementCache.Key cacheKey;
+   private boolean propertiesChanged;
+
    ProxyPreparedStatement(ProxyConnection connection, PreparedStatement statement)
    {
       super(connection, statement);
    }
 
+   /**
+    * Statements obtained from the statement cache are returned to it, with their parameters and
+    * batch cleared and any open result set closed, rather than closed.  A statement whose
+    * properties were changed by the application, or that is not poolable, is closed instead, so
+    * that the next borrower always gets the driver's defaults.
+    */
+   @Override
+   void closeDelegate() throws SQLException
+   {
+      final StatementCache statementCache = (cacheKey != null && !propertiesChanged ? connection.getStatementCache() : null);
+      if (statementCache == null) {
+         delegate.close();
+         return;
+      }
+
+      final PreparedStatement statement = (PreparedStatement) delegate;
+      try {
+         if (!statement.isPoolable()) {
+            statement.close();
+            return;
+         }
+
+         final ResultSet resultSet = statement.getResultSet();
+         if (resultSet != null) {
+            resultSet.close();
+         }
+         statement.clearBatch();
+         statement.clearParameters();
+         statement.clearWarnings();
+      }
+      catch (SQLException e) {
+         try {
+            statement.close();
+         }
+         catch (SQLException e2) {
+            e.addSuppressed(e2);
+         }
+         throw e;
+      }
+
+      statementCache.offer(cacheKey, statement);
+   }
+
+   // **********************************************************************
+   //              Statement properties, tracked for the statement cache
+   // **********************************************************************
+
+   /** {@inheritDoc} */
+   @Override
+   public void setMaxFieldSize(int max) throws SQLException
+   {
+      propertiesChanged = true;
+      delegate.setMaxFieldSize(max);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void setMaxRows(int max) throws SQLException
+   {
+      propertiesChanged = true;
+      delegate.setMaxRows(max);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void setLargeMaxRows(long max) throws SQLException
+   {
+      propertiesChanged = true;
+      delegate.setLargeMaxRows(max);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void setEscapeProcessing(boolean enable) throws SQLException
+   {
+      propertiesChanged = true;
+      delegate.setEscapeProcessing(enable);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void setQueryTimeout(int seconds) throws SQLException
+   {
+      propertiesChanged = true;
+      delegate.setQueryTimeout(seconds);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void setCursorName(String name) throws SQLException
+   {
+      propertiesChanged = true;
+      delegate.setCursorName(name);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void setFetchDirection(int direction) throws SQLException
+   {
+      propertiesChanged = true;
+      delegate.setFetchDirection(direction);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void setFetchSize(int rows) throws SQLException
+   {
+      propertiesChanged = true;
+      delegate.setFetchSize(rows);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void setPoolable(boolean poolable) throws SQLException
+   {
+      propertiesChanged = true;
+      delegate.setPoolable(poolable);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public void closeOnCompletion() throws SQLException
+   {
+      propertiesChanged = true;
+      delegate.closeOnCompletion();
+   }
+
    // **********************************************************************
    //              Overridden java.sql.PreparedStatement Methods
    // **********************************************************************
@@ -40,7 +170,7 @@ public abstract class ProxyPreparedStatement extends ProxyStatement implements P
    @Override
    public boolean execute() throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       return ((PreparedStatement) delegate).execute();
    }
 
@@ -48,7 +178,7 @@ public abstract class ProxyPreparedStatement extends ProxyStatement implements P
    @Override
    public ResultSet executeQuery() throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       ResultSet resultSet = ((PreparedStatement) delegate).executeQuery();
       return ProxyFactory.getProxyResultSet(connection, this, resultSet);
    }
@@ -57,7 +187,7 @@ public abstract class ProxyPreparedStatement extends ProxyStatement implements P
    @Override
    public int executeUpdate() throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       return ((PreparedStatement) delegate).executeUpdate();
    }
 
@@ -65,7 +195,7 @@ public abstract class ProxyPreparedStatement extends ProxyStatement implements P
    @Override
    public long executeLargeUpdate() throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       return ((PreparedStatement) delegate).executeLargeUpdate();
    }
 }
@@ -72,13 +72,18 @@ public abstract class ProxyStatement implements Statement
       connection.untrackStatement(delegate);
 
       try {
-         delegate.close();
+         closeDelegate();
       }
       catch (SQLException e) {
          throw connection.checkException(e);
       }
    }
 
+   void closeDelegate() throws SQLException
+   {
+      delegate.close();
+   }
+
    /** {@inheritDoc} */
    @Override
    public Connection getConnection() throws SQLException
@@ -90,7 +95,7 @@ public abstract class ProxyStatement implements Statement
    @Override
    public boolean execute(String sql) throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       return delegate.execute(sql);
    }
 
@@ -98,7 +103,7 @@ public abstract class ProxyStatement implements Statement
    @Override
    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       return delegate.execute(sql, autoGeneratedKeys);
    }
 
@@ -106,7 +111,7 @@ public abstract class ProxyStatement implements Statement
    @Override
    public ResultSet executeQuery(String sql) throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       ResultSet resultSet = delegate.executeQuery(sql);
       return ProxyFactory.getProxyResultSet(connection, this, resultSet);
    }
@@ -115,7 +120,7 @@ public abstract class ProxyStatement implements Statement
    @Override
    public int executeUpdate(String sql) throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       return delegate.executeUpdate(sql);
    }
 
@@ -123,7 +128,7 @@ public abstract class ProxyStatement implements Statement
    @Override
    public int[] executeBatch() throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       return delegate.executeBatch();
    }
 
@@ -131,7 +136,7 @@ public abstract class ProxyStatement implements Statement
    @Override
    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       return delegate.executeUpdate(sql, autoGeneratedKeys);
    }
 
@@ -139,7 +144,7 @@ public abstract class ProxyStatement implements Statement
    @Override
    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       return delegate.executeUpdate(sql, columnIndexes);
    }
 
@@ -147,7 +152,7 @@ public abstract class ProxyStatement implements Statement
    @Override
    public int executeUpdate(String sql, String[] columnNames) throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       return delegate.executeUpdate(sql, columnNames);
    }
 
@@ -155,7 +160,7 @@ public abstract class ProxyStatement implements Statement
    @Override
    public boolean execute(String sql, int[] columnIndexes) throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       return delegate.execute(sql, columnIndexes);
    }
 
@@ -163,7 +168,7 @@ public abstract class ProxyStatement implements Statement
    @Override
    public boolean execute(String sql, String[] columnNames) throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       return delegate.execute(sql, columnNames);
    }
 
@@ -171,7 +176,7 @@ public abstract class ProxyStatement implements Statement
    @Override
    public long[] executeLargeBatch() throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       return delegate.executeLargeBatch();
    }
 
@@ -179,7 +184,7 @@ public abstract class ProxyStatement implements Statement
    @Override
    public long executeLargeUpdate(String sql) throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       return delegate.executeLargeUpdate(sql);
    }
 
@@ -187,7 +192,7 @@ public abstract class ProxyStatement implements Statement
    @Override
    public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       return delegate.executeLargeUpdate(sql, autoGeneratedKeys);
    }
 
@@ -195,7 +200,7 @@ public abstract class ProxyStatement implements Statement
    @Override
    public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       return delegate.executeLargeUpdate(sql, columnIndexes);
    }
 
@@ -203,7 +208,7 @@ public abstract class ProxyStatement implements Statement
    @Override
    public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException
    {
-      connection.markCommitStateDirty();
+      connection.markStatementExecuted();
       return delegate.executeLargeUpdate(sql, columnNames);
    }
 
@@ -0,0 +1,182 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.zaxxer.hikari.pool;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A per-connection LRU cache of idle PreparedStatements.  A statement is removed from
+ * the cache while it is in use by the application, and put back when its proxy is
+ * closed, so a cached statement is never shared.
+ */
+final class StatementCache
+{
+   private static final Logger LOGGER = LogManager.getLogger(StatementCache.class);
+
+   private final PoolBase pool;
+   private final int maxSize;
+   private final LinkedHashMap<Key, PreparedStatement> statements;
+
+   StatementCache(final PoolBase pool, final int maxSize)
+   {
+      this.pool = pool;
+      this.maxSize = maxSize;
+      this.statements = new LinkedHashMap<>(16, 0.75f, true);
+   }
+
+   /**
+    * Take an idle statement out of the cache.
+    *
+    * @param key the statement key
+    * @return the cached statement, or null if there is none
+    */
+   synchronized PreparedStatement take(final Key key)
+   {
+      final PreparedStatement statement = statements.remove(key);
+      if (statement != null) {
+         pool.metricsTracker.recordStatementCacheHit();
+      }
+      else {
+         pool.metricsTracker.recordStatementCacheMiss();
+      }
+
+      return statement;
+   }
+
+   /**
+    * Return a statement to the cache, closing the least recently used statement if the
+    * cache is full.  If an idle statement with the same key is already cached the
+    * returned statement is closed instead.
+    *
+    * @param key the statement key
+    * @param statement the statement, with its parameters already cleared
+    */
+   void offer(final Key key, final PreparedStatement statement)
+   {
+      PreparedStatement evicted = statement;
+      synchronized (this) {
+         if (!statements.containsKey(key)) {
+            statements.put(key, statement);
+            evicted = null;
+            if (statements.size() > maxSize) {
+               final Iterator<PreparedStatement> eldest = statements.values().iterator();
+               evicted = eldest.next();
+               eldest.remove();
+            }
+         }
+      }
+
+      if (evicted != null) {
+         pool.metricsTracker.recordStatementCacheEviction();
+         quietlyClose(evicted);
+      }
+   }
+
+   /**
+    * Drop all cached statements without closing them; used when the underlying connection
+    * is about to be closed, which closes its statements.
+    */
+   synchronized void clear()
+   {
+      statements.clear();
+   }
+
+   private void quietlyClose(final PreparedStatement statement)
+   {
+      try {
+         statement.close();
+      }
+      catch (SQLException e) {
+         LOGGER.debug("{} - Failed to close evicted statement {}", pool.poolName, statement, e);
+      }
+   }
+
+   /**
+    * The identity of a cached statement: its SQL and result set type, concurrency and holdability.
+    */
+   static final class Key
+   {
+      /** Holdability value used for statements prepared with the connection's default holdability. */
+      static final int DEFAULT_HOLDABILITY = -1;
+
+      private final String sql;
+      private final int resultSetType;
+      private final int concurrency;
+      private final int holdability;
+      private final int hash;
+
+      Key(final String sql, final int resultSetType, final int concurrency, final int holdability)
+      {
+         this.sql = sql;
+         this.resultSetType = resultSetType;
+         this.concurrency = concurrency;
+         this.holdability = holdability;
+         this.hash = ((sql.hashCode() * 31 + resultSetType) * 31 + concurrency) * 31 + holdability;
+      }
+
+      /**
+       * Prepare a new statement for this key on the given (raw) connection.
+       *
+       * @param connection the connection to prepare the statement on
+       * @return a new PreparedStatement
+       * @throws SQLException thrown by the driver
+       */
+      PreparedStatement prepare(final Connection connection) throws SQLException
+      {
+         if (holdability != DEFAULT_HOLDABILITY) {
+            return connection.prepareStatement(sql, resultSetType, concurrency, holdability);
+         }
+         else if (resultSetType != ResultSet.TYPE_FORWARD_ONLY || concurrency != ResultSet.CONCUR_READ_ONLY) {
+            return connection.prepareStatement(sql, resultSetType, concurrency);
+         }
+
+         return connection.prepareStatement(sql);
+      }
+
+      @Override
+      public int hashCode()
+      {
+         return hash;
+      }
+
+      @Override
+      public boolean equals(final Object other)
+      {
+         if (this == other) {
+            return true;
+         }
+         if (!(other instanceof Key)) {
+            return false;
+         }
+
+         final Key that = (Key) other;
+         return resultSetType == that.resultSetType && concurrency == that.concurrency
+            && holdability == that.holdability && sql.equals(that.sql);
+      }
+
+      @Override
+      public String toString()
+      {
+         return sql;
+      }
+   }
+}
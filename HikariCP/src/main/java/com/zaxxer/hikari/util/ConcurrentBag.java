@@ -19,6 +19,7 @@ import static java.lang.Thread.yield;
 import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static java.util.concurrent.locks.LockSupport.unpark;
 
 import static com.zaxxer.hikari.util.ClockSource.currentTime;
 import static com.zaxxer.hikari.util.ClockSource.elapsedNanos;
@@ -31,10 +32,14 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
@@ -58,6 +63,21 @@ import com.zaxxer.hikari.util.ConcurrentBag.IConcurrentBagEntry;
  * "requite" borrowed objects otherwise a memory leak will result.  Only
  * the "remove" method can completely remove an object from the bag.
  *
+ * When constructed in "fair" mode the bag does not use ThreadLocal storage
+ * or the SynchronousQueue hand-off.  Instead, borrowers that find nothing
+ * available are parked in a FIFO waiter queue and returned items are
+ * handed directly to the longest waiting borrower.  This mode is intended
+ * for very large numbers of (possibly virtual) borrowing threads, where
+ * per-thread lists and spin/yield hand-off are more costly than helpful.
+ *
+ * In either mode items may also be borrowed asynchronously, in which case
+ * the borrower is a callback queued in the same waiter queue rather than a
+ * parked thread.
+ *
+ * Every state change of an item is made by the bag itself, which keeps a
+ * striped count of the items in each state so that <code>getCount(int)</code>
+ * and <code>getStateCounts()</code> are O(1) rather than a scan of the items.
+ *
  * @author Brett Wooldridge
  *
  * @param <T> the templated type to store in the bag
@@ -76,6 +96,12 @@ public class ConcurrentBag<T extends IConcurrentBagEntry> implements AutoCloseab
 
    private final SynchronousQueue<T> handoffQueue;
 
+   private final boolean fair;
+   private final ConcurrentLinkedQueue<Waiter<T>> waiterQueue;
+
+   // indexed by counterIndex(state): NOT_IN_USE, IN_USE, REMOVED, RESERVED
+   private final LongAdder[] stateCounts;
+
    public interface IConcurrentBagEntry
    {
       int STATE_NOT_IN_USE = 0;
@@ -93,20 +119,49 @@ public class ConcurrentBag<T extends IConcurrentBagEntry> implements AutoCloseab
       void addBagItem(int waiting);
    }
 
+   public interface IPendingBorrow
+   {
+      /**
+       * Cancel a pending asynchronous borrow.
+       *
+       * @return true if the borrow was cancelled, false if an item has already been (or is being) handed to the callback
+       */
+      boolean cancel();
+   }
+
+   private static final IPendingBorrow COMPLETED_BORROW = () -> false;
+
    /**
     * Construct a ConcurrentBag with the specified listener.
     *
     * @param listener the IBagStateListener to attach to this bag
     */
    public ConcurrentBag(final IBagStateListener listener)
+   {
+      this(listener, false);
+   }
+
+   /**
+    * Construct a ConcurrentBag with the specified listener, optionally in "fair" mode.
+    *
+    * @param listener the IBagStateListener to attach to this bag
+    * @param fair true to serve waiting borrowers in FIFO order with direct hand-off and no ThreadLocal caching
+    */
+   public ConcurrentBag(final IBagStateListener listener, final boolean fair)
    {
       this.listener = listener;
+      this.fair = fair;
       this.weakThreadLocals = useWeakThreadLocals();
 
       this.handoffQueue = new SynchronousQueue<>(true);
+      this.waiterQueue = new ConcurrentLinkedQueue<>();
       this.waiters = new AtomicInteger();
       this.sharedList = new CopyOnWriteArrayList<>();
-      if (weakThreadLocals) {
+      this.stateCounts = new LongAdder[] {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+      if (fair) {
+         this.threadList = null;
+      }
+      else if (weakThreadLocals) {
          this.threadList = ThreadLocal.withInitial(() -> new ArrayList<>(16));
       }
       else {
@@ -125,13 +180,17 @@ public class ConcurrentBag<T extends IConcurrentBagEntry> implements AutoCloseab
     */
    public T borrow(long timeout, final TimeUnit timeUnit) throws InterruptedException
    {
+      if (fair) {
+         return borrowFair(timeUnit.toNanos(timeout));
+      }
+
       // Try the thread-local list first
       final List<Object> list = threadList.get();
       for (int i = list.size() - 1; i >= 0; i--) {
          final Object entry = list.remove(i);
          @SuppressWarnings("unchecked")
          final T bagEntry = weakThreadLocals ? ((WeakReference<T>) entry).get() : (T) entry;
-         if (bagEntry != null && bagEntry.compareAndSet(STATE_NOT_IN_USE, STATE_IN_USE)) {
+         if (bagEntry != null && transition(bagEntry, STATE_NOT_IN_USE, STATE_IN_USE)) {
             return bagEntry;
          }
       }
@@ -140,7 +199,7 @@ public class ConcurrentBag<T extends IConcurrentBagEntry> implements AutoCloseab
       final int waiting = waiters.incrementAndGet();
       try {
          for (T bagEntry : sharedList) {
-            if (bagEntry.compareAndSet(STATE_NOT_IN_USE, STATE_IN_USE)) {
+            if (transition(bagEntry, STATE_NOT_IN_USE, STATE_IN_USE)) {
                // If we may have stolen another waiter's connection, request another bag add.
                if (waiting > 1) {
                   listener.addBagItem(waiting - 1);
@@ -155,7 +214,7 @@ public class ConcurrentBag<T extends IConcurrentBagEntry> implements AutoCloseab
          do {
             final long start = currentTime();
             final T bagEntry = handoffQueue.poll(timeout, NANOSECONDS);
-            if (bagEntry == null || bagEntry.compareAndSet(STATE_NOT_IN_USE, STATE_IN_USE)) {
+            if (bagEntry == null || transition(bagEntry, STATE_NOT_IN_USE, STATE_IN_USE)) {
                return bagEntry;
             }
 
@@ -169,6 +228,46 @@ public class ConcurrentBag<T extends IConcurrentBagEntry> implements AutoCloseab
       }
    }
 
+   /**
+    * The method will borrow a BagEntry from the bag without blocking.  If an entry is available
+    * the callback is invoked immediately on the calling thread, otherwise the callback is queued
+    * and will be invoked, on the thread that requites or adds an entry, as soon as one becomes
+    * available.  The callback is invoked at most once, and never after a successful call to
+    * {@link IPendingBorrow#cancel()}.  Callbacks should return quickly and not throw.
+    *
+    * @param callback the callback to receive the borrowed entry
+    * @return a handle through which the pending borrow can be cancelled, e.g. upon timeout
+    */
+   public IPendingBorrow borrow(final Consumer<T> callback)
+   {
+      if (!fair || waiterQueue.isEmpty()) {
+         final T bagEntry = claimFromSharedList();
+         if (bagEntry != null) {
+            callback.accept(bagEntry);
+            return COMPLETED_BORROW;
+         }
+      }
+
+      final AsyncWaiter waiter = new AsyncWaiter(callback);
+      final int waiting = waiters.incrementAndGet();
+      waiterQueue.offer(waiter);
+
+      listener.addBagItem(waiting);
+
+      // An item released between the scan above and joining the queue would not be handed to us, so look again
+      final T bagEntry = claimFromSharedList();
+      if (bagEntry != null) {
+         if (waiter.cancel()) {
+            callback.accept(bagEntry);
+            return COMPLETED_BORROW;
+         }
+
+         requite(bagEntry);
+      }
+
+      return waiter;
+   }
+
    /**
     * This method will return a borrowed object to the bag.  Objects
     * that are borrowed from the bag but never "requited" will result
@@ -180,12 +279,20 @@ public class ConcurrentBag<T extends IConcurrentBagEntry> implements AutoCloseab
     */
    public void requite(final T bagEntry)
    {
-      bagEntry.setState(STATE_NOT_IN_USE);
+      setState(bagEntry, STATE_NOT_IN_USE);
+
+      if (fair) {
+         handoffToWaiters(bagEntry);
+         return;
+      }
 
       for (int i = 0; waiters.get() > 0; i++) {
          if (bagEntry.getState() != STATE_NOT_IN_USE || handoffQueue.offer(bagEntry)) {
             return;
          }
+         else if (!waiterQueue.isEmpty()) {
+            handoffToWaiters(bagEntry);
+         }
          else if ((i & 0xff) == 0xff) {
             parkNanos(MICROSECONDS.toNanos(10));
          }
@@ -212,11 +319,22 @@ public class ConcurrentBag<T extends IConcurrentBagEntry> implements AutoCloseab
          throw new IllegalStateException("ConcurrentBag has been closed, ignoring add()");
       }
 
+      stateCounts[counterIndex(bagEntry.getState())].increment();
       sharedList.add(bagEntry);
 
+      if (fair) {
+         handoffToWaiters(bagEntry);
+         return;
+      }
+
       // spin until a thread takes it or none are waiting
       while (waiters.get() > 0 && bagEntry.getState() == STATE_NOT_IN_USE && !handoffQueue.offer(bagEntry)) {
-         yield();
+         if (!waiterQueue.isEmpty()) {
+            handoffToWaiters(bagEntry);
+         }
+         else {
+            yield();
+         }
       }
    }
 
@@ -231,13 +349,17 @@ public class ConcurrentBag<T extends IConcurrentBagEntry> implements AutoCloseab
     */
    public boolean remove(final T bagEntry)
    {
-      if (!bagEntry.compareAndSet(STATE_IN_USE, STATE_REMOVED) && !bagEntry.compareAndSet(STATE_RESERVED, STATE_REMOVED) && !closed) {
+      if (!transition(bagEntry, STATE_IN_USE, STATE_REMOVED) && !transition(bagEntry, STATE_RESERVED, STATE_REMOVED) && !closed) {
          LOGGER.warn("Attempt to remove an object from the bag that was not borrowed or reserved: {}", bagEntry);
          return false;
       }
 
       final boolean removed = sharedList.remove(bagEntry);
-      if (!removed && !closed) {
+      if (removed) {
+         // normally REMOVED, but a closed bag also removes items in any other state
+         stateCounts[counterIndex(bagEntry.getState())].decrement();
+      }
+      else if (!closed) {
          LOGGER.warn("Attempt to remove an object from the bag that does not exist: {}", bagEntry);
       }
 
@@ -297,7 +419,7 @@ public class ConcurrentBag<T extends IConcurrentBagEntry> implements AutoCloseab
     */
    public boolean reserve(final T bagEntry)
    {
-      return bagEntry.compareAndSet(STATE_NOT_IN_USE, STATE_RESERVED);
+      return transition(bagEntry, STATE_NOT_IN_USE, STATE_RESERVED);
    }
 
    /**
@@ -308,10 +430,20 @@ public class ConcurrentBag<T extends IConcurrentBagEntry> implements AutoCloseab
     */
    public void unreserve(final T bagEntry)
    {
-      if (bagEntry.compareAndSet(STATE_RESERVED, STATE_NOT_IN_USE)) {
+      if (transition(bagEntry, STATE_RESERVED, STATE_NOT_IN_USE)) {
+         if (fair) {
+            handoffToWaiters(bagEntry);
+            return;
+         }
+
          // spin until a thread takes it or none are waiting
-         while (waiters.get() > 0 && !handoffQueue.offer(bagEntry)) {
-            yield();
+         while (waiters.get() > 0 && bagEntry.getState() == STATE_NOT_IN_USE && !handoffQueue.offer(bagEntry)) {
+            if (!waiterQueue.isEmpty()) {
+               handoffToWaiters(bagEntry);
+            }
+            else {
+               yield();
+            }
          }
       }
       else {
@@ -320,8 +452,8 @@ public class ConcurrentBag<T extends IConcurrentBagEntry> implements AutoCloseab
    }
 
    /**
-    * Get the number of threads pending (waiting) for an item from the
-    * bag to become available.
+    * Get the number of threads (and asynchronous borrows) pending (waiting)
+    * for an item from the bag to become available.
     *
     * @return the number of threads waiting for items from the bag
     */
@@ -338,20 +470,21 @@ public class ConcurrentBag<T extends IConcurrentBagEntry> implements AutoCloseab
     */
    public int getCount(final int state)
    {
-      int count = 0;
-      for (IConcurrentBagEntry e : sharedList) {
-         if (e.getState() == state) {
-            count++;
-         }
-      }
-      return count;
+      return (int) Math.max(0L, stateCounts[counterIndex(state)].sum());
    }
 
+   /**
+    * Get the counts of the items in each state, the total number of items and the number
+    * of waiting borrowers, at the time of this call.  The counts are read individually and
+    * may be mutually inconsistent while items change state concurrently.
+    *
+    * @return an array of the NOT_IN_USE, IN_USE, REMOVED and RESERVED counts, the size of the bag and the number of waiters
+    */
    public int[] getStateCounts()
    {
       final int[] states = new int[6];
-      for (IConcurrentBagEntry e : sharedList) {
-         ++states[e.getState()];
+      for (int i = 0; i < stateCounts.length; i++) {
+         states[i] = (int) Math.max(0L, stateCounts[i].sum());
       }
       states[4] = sharedList.size();
       states[5] = waiters.get();
@@ -374,6 +507,160 @@ public class ConcurrentBag<T extends IConcurrentBagEntry> implements AutoCloseab
       sharedList.forEach(entry -> LOGGER.info(entry.toString()));
    }
 
+   /**
+    * Borrow in "fair" mode.  A borrower only barges ahead (scans the shared list) when nobody is queued,
+    * otherwise it joins the FIFO waiter queue and parks until an item is handed to it or the timeout expires.
+    *
+    * @param timeout how long to wait before giving up, in nanoseconds
+    * @return a borrowed instance from the bag or null if a timeout occurs
+    * @throws InterruptedException if interrupted while waiting
+    */
+   private T borrowFair(final long timeout) throws InterruptedException
+   {
+      final int waiting = waiters.incrementAndGet();
+      try {
+         if (waiterQueue.isEmpty()) {
+            final T bagEntry = claimFromSharedList();
+            if (bagEntry != null) {
+               // If we may have stolen another waiter's connection, request another bag add.
+               if (waiting > 1) {
+                  listener.addBagItem(waiting - 1);
+               }
+               return bagEntry;
+            }
+         }
+
+         final Waiter<T> waiter = new Waiter<>(Thread.currentThread());
+         waiterQueue.offer(waiter);
+
+         listener.addBagItem(waiting);
+
+         // An item released between the scan above and joining the queue would not be handed to us, so look again
+         final T bagEntry = claimFromSharedList();
+         if (bagEntry != null) {
+            if (waiter.cancel()) {
+               waiterQueue.remove(waiter);
+               return bagEntry;
+            }
+
+            // an item was handed to us concurrently, keep that one
+            release(bagEntry);
+            return waiter.get();
+         }
+
+         final long start = currentTime();
+         for (;;) {
+            final T item = waiter.get();
+            if (item != null) {
+               return item;
+            }
+
+            if (Thread.interrupted()) {
+               if (waiter.cancel()) {
+                  waiterQueue.remove(waiter);
+               }
+               else {
+                  release(waiter.get());
+               }
+               throw new InterruptedException();
+            }
+
+            final long remaining = timeout - elapsedNanos(start);
+            if (remaining <= 0L) {
+               if (waiter.cancel()) {
+                  waiterQueue.remove(waiter);
+                  return null;
+               }
+               return waiter.get(); // handed off just as we timed out
+            }
+
+            parkNanos(this, remaining);
+         }
+      }
+      finally {
+         waiters.decrementAndGet();
+      }
+   }
+
+   private T claimFromSharedList()
+   {
+      for (T bagEntry : sharedList) {
+         if (transition(bagEntry, STATE_NOT_IN_USE, STATE_IN_USE)) {
+            return bagEntry;
+         }
+      }
+
+      return null;
+   }
+
+   private void release(final T bagEntry)
+   {
+      setState(bagEntry, STATE_NOT_IN_USE);
+      handoffToWaiters(bagEntry);
+   }
+
+   /**
+    * Hand a not-in-use item directly to the longest waiting borrower, if any.  The item is taken (set in-use) on
+    * behalf of the waiter before it is offered, and made available again if every queued waiter has given up.
+    * Because waiters re-scan the shared list after queueing, re-checking the queue after releasing the item here
+    * ensures that a concurrently arriving waiter can never miss it.
+    *
+    * @param bagEntry the item to hand off
+    */
+   private void handoffToWaiters(final T bagEntry)
+   {
+      while (!waiterQueue.isEmpty() && transition(bagEntry, STATE_NOT_IN_USE, STATE_IN_USE)) {
+         for (Waiter<T> waiter; (waiter = waiterQueue.poll()) != null; ) {
+            if (waiter.offer(bagEntry)) {
+               return;
+            }
+         }
+
+         setState(bagEntry, STATE_NOT_IN_USE);
+      }
+   }
+
+   /**
+    * Atomically move an item from one state to another, keeping the state counts in step.
+    *
+    * @param bagEntry the item
+    * @param expectState the state the item is expected to be in
+    * @param newState the new state
+    * @return true if the item was in the expected state and has been moved
+    */
+   private boolean transition(final T bagEntry, final int expectState, final int newState)
+   {
+      if (bagEntry.compareAndSet(expectState, newState)) {
+         stateCounts[counterIndex(expectState)].decrement();
+         stateCounts[counterIndex(newState)].increment();
+         return true;
+      }
+
+      return false;
+   }
+
+   /**
+    * Unconditionally set the state of an item, keeping the state counts in step.
+    *
+    * @param bagEntry the item
+    * @param newState the new state
+    */
+   private void setState(final T bagEntry, final int newState)
+   {
+      int state;
+      do {
+         state = bagEntry.getState();
+      } while (state != newState && !transition(bagEntry, state, newState));
+   }
+
+   /**
+    * Map a state to its index in stateCounts (and in the array returned by getStateCounts()).
+    */
+   private static int counterIndex(final int state)
+   {
+      return state >= 0 ? state : 1 - state;
+   }
+
    /**
     * Determine whether to use WeakReferences based on whether there is a
     * custom ClassLoader implementation sitting between this class and the
@@ -394,4 +681,87 @@ public class ConcurrentBag<T extends IConcurrentBagEntry> implements AutoCloseab
          return true;
       }
    }
+
+   /**
+    * A borrower parked in the "fair" waiter queue.  Exactly one of {@link #offer(Object)} and {@link #cancel()}
+    * succeeds, deciding whether the waiter receives an item or gives up.
+    *
+    * @param <T> the templated type stored in the bag
+    */
+   private static class Waiter<T>
+   {
+      private static final Object CANCELLED = new Object();
+
+      @SuppressWarnings("rawtypes")
+      private static final AtomicReferenceFieldUpdater<Waiter, Object> itemUpdater = AtomicReferenceFieldUpdater.newUpdater(Waiter.class, Object.class, "item");
+
+      private final Thread thread;
+      private volatile Object item;
+
+      Waiter(final Thread thread)
+      {
+         this.thread = thread;
+      }
+
+      boolean offer(final T bagEntry)
+      {
+         if (itemUpdater.compareAndSet(this, null, bagEntry)) {
+            signal(bagEntry);
+            return true;
+         }
+
+         return false;
+      }
+
+      void signal(final T bagEntry)
+      {
+         unpark(thread);
+      }
+
+      boolean cancel()
+      {
+         return itemUpdater.compareAndSet(this, null, CANCELLED);
+      }
+
+      @SuppressWarnings("unchecked")
+      T get()
+      {
+         final Object o = item;
+         return (o == CANCELLED) ? null : (T) o;
+      }
+   }
+
+   /**
+    * An asynchronous borrower in the waiter queue.  It accounts for itself in the waiters count
+    * while queued, since there is no borrowing thread to do so.
+    */
+   private final class AsyncWaiter extends Waiter<T> implements IPendingBorrow
+   {
+      private final Consumer<T> callback;
+
+      AsyncWaiter(final Consumer<T> callback)
+      {
+         super(null);
+         this.callback = callback;
+      }
+
+      @Override
+      void signal(final T bagEntry)
+      {
+         waiters.decrementAndGet();
+         callback.accept(bagEntry);
+      }
+
+      @Override
+      public boolean cancel()
+      {
+         if (super.cancel()) {
+            waiters.decrementAndGet();
+            waiterQueue.remove(this);
+            return true;
+         }
+
+         return false;
+      }
+   }
 }
@@ -35,6 +35,9 @@ import javassist.bytecode.ClassFile;
  * {@link PreparedStatement}, and {@link CallableStatement}.  Additionally it injects
  * method bodies into the {@link ProxyFactory} class methods that can instantiate
  * instances of the generated proxies.
+ * <p>
+ * This class is run by the build after compilation, and is never loaded by the pool
+ * at runtime, which is why Javassist is only an optional dependency.
  *
  * @author Brett Wooldridge
  */
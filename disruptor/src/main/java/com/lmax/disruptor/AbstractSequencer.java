@@ -32,8 +32,9 @@ public abstract class AbstractSequencer implements Sequencer
 
     protected final int bufferSize;
     protected final WaitStrategy waitStrategy;
-    protected final Sequence cursor = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+    protected final Sequence cursor;
     protected volatile Sequence[] gatingSequences = new Sequence[0];
+    volatile ProducerStallStats producerStallStats;
 
     /**
      * Create with the specified buffer size and wait strategy.
@@ -42,6 +43,18 @@ public abstract class AbstractSequencer implements Sequencer
      * @param waitStrategy The wait strategy used by this sequencer
      */
     public AbstractSequencer(int bufferSize, WaitStrategy waitStrategy)
+    {
+        this(bufferSize, waitStrategy, new Sequence(Sequencer.INITIAL_CURSOR_VALUE));
+    }
+
+    /**
+     * Create with the specified buffer size and wait strategy, publishing to the supplied cursor.
+     *
+     * @param bufferSize   The total number of entries, must be a positive power of 2.
+     * @param waitStrategy The wait strategy used by this sequencer
+     * @param cursor       The sequence to publish to, such as one shared with another process
+     */
+    AbstractSequencer(int bufferSize, WaitStrategy waitStrategy, Sequence cursor)
     {
         if (bufferSize < 1)
         {
@@ -54,6 +67,22 @@ public abstract class AbstractSequencer implements Sequencer
 
         this.bufferSize = bufferSize;
         this.waitStrategy = waitStrategy;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Start recording the time producers wait in {@link #next(int)} for capacity, if not already.
+     *
+     * @return the statistics.
+     */
+    synchronized ProducerStallStats recordProducerStalls()
+    {
+        if (producerStallStats == null)
+        {
+            producerStallStats = new ProducerStallStats();
+        }
+
+        return producerStallStats;
     }
 
     /**
@@ -24,6 +24,12 @@ import java.util.concurrent.atomic.AtomicInteger;
  * <p>
  * If the {@link EventHandler} also implements {@link LifecycleAware} it will be notified just after the thread
  * is started and just before the thread is shutdown.
+ * <p>
+ * By default a batch covers every event available when the processor wakes, and the sequence is only updated at the
+ * end of it, so a processor that has fallen behind can hold a whole ring's worth of slots while it catches up.  A
+ * maximum batch size bounds this: larger backlogs are processed as several batches, each ending with
+ * <code>endOfBatch</code> set and the sequence updated.  A {@link SequenceReportingEventHandler} may also release
+ * slots within a batch by setting the sequence itself.
  *
  * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
  */
@@ -39,9 +45,11 @@ public final class BatchEventProcessor<T>
     private final DataProvider<T> dataProvider;
     private final SequenceBarrier sequenceBarrier;
     private final EventHandler<? super T> eventHandler;
-    private final Sequence sequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+    private final Sequence sequence;
     private final TimeoutHandler timeoutHandler;
     private final BatchStartAware batchStartAware;
+    private final int batchLimitOffset;
+    private BatchSizeHistogram batchSizeHistogram;
 
     /**
      * Construct a {@link EventProcessor} that will automatically track the progress by updating its sequence when
@@ -56,6 +64,72 @@ public final class BatchEventProcessor<T>
         final SequenceBarrier sequenceBarrier,
         final EventHandler<? super T> eventHandler)
     {
+        this(dataProvider, sequenceBarrier, eventHandler, new Sequence(Sequencer.INITIAL_CURSOR_VALUE));
+    }
+
+    /**
+     * Construct a {@link EventProcessor} that will process at most <code>maxBatchSize</code> events before
+     * updating its sequence.
+     *
+     * @param dataProvider    to which events are published.
+     * @param sequenceBarrier on which it is waiting.
+     * @param eventHandler    is the delegate to which events are dispatched.
+     * @param maxBatchSize    the maximum number of events in a batch.
+     * @throws IllegalArgumentException if maxBatchSize is less than 1
+     */
+    public BatchEventProcessor(
+        final DataProvider<T> dataProvider,
+        final SequenceBarrier sequenceBarrier,
+        final EventHandler<? super T> eventHandler,
+        final int maxBatchSize)
+    {
+        this(dataProvider, sequenceBarrier, eventHandler, new Sequence(Sequencer.INITIAL_CURSOR_VALUE), maxBatchSize);
+    }
+
+    /**
+     * Construct a {@link EventProcessor} that tracks its progress in the supplied sequence, and resumes from
+     * its current value.  Used where the sequence must be visible outside this process, for example the
+     * consumer sequences of a {@link MappedRingBuffer}.
+     *
+     * @param dataProvider    to which events are published.
+     * @param sequenceBarrier on which it is waiting.
+     * @param eventHandler    is the delegate to which events are dispatched.
+     * @param sequence        in which to track the progress of this processor.
+     */
+    public BatchEventProcessor(
+        final DataProvider<T> dataProvider,
+        final SequenceBarrier sequenceBarrier,
+        final EventHandler<? super T> eventHandler,
+        final Sequence sequence)
+    {
+        this(dataProvider, sequenceBarrier, eventHandler, sequence, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Construct a {@link EventProcessor} that tracks its progress in the supplied sequence and will process at
+     * most <code>maxBatchSize</code> events before updating it.
+     *
+     * @param dataProvider    to which events are published.
+     * @param sequenceBarrier on which it is waiting.
+     * @param eventHandler    is the delegate to which events are dispatched.
+     * @param sequence        in which to track the progress of this processor.
+     * @param maxBatchSize    the maximum number of events in a batch.
+     * @throws IllegalArgumentException if maxBatchSize is less than 1
+     */
+    public BatchEventProcessor(
+        final DataProvider<T> dataProvider,
+        final SequenceBarrier sequenceBarrier,
+        final EventHandler<? super T> eventHandler,
+        final Sequence sequence,
+        final int maxBatchSize)
+    {
+        if (maxBatchSize < 1)
+        {
+            throw new IllegalArgumentException("maxBatchSize must not be less than 1");
+        }
+
+        this.batchLimitOffset = maxBatchSize - 1;
+        this.sequence = sequence;
         this.dataProvider = dataProvider;
         this.sequenceBarrier = sequenceBarrier;
         this.eventHandler = eventHandler;
@@ -105,6 +179,16 @@ public final class BatchEventProcessor<T>
         this.exceptionHandler = exceptionHandler;
     }
 
+    /**
+     * Record the size of each batch in a histogram; must be set before the processor is started.
+     *
+     * @param batchSizeHistogram to record batch sizes in, or null to stop recording.
+     */
+    public void setBatchSizeHistogram(final BatchSizeHistogram batchSizeHistogram)
+    {
+        this.batchSizeHistogram = batchSizeHistogram;
+    }
+
     /**
      * It is ok to have another thread rerun this method after a halt().
      *
@@ -157,19 +241,24 @@ public final class BatchEventProcessor<T>
             try
             {
                 final long availableSequence = sequenceBarrier.waitFor(nextSequence);
+                final long endOfBatchSequence = Math.min(nextSequence + batchLimitOffset, availableSequence);
                 if (batchStartAware != null)
                 {
-                    batchStartAware.onBatchStart(availableSequence - nextSequence + 1);
+                    batchStartAware.onBatchStart(endOfBatchSequence - nextSequence + 1);
+                }
+                if (batchSizeHistogram != null)
+                {
+                    batchSizeHistogram.record(endOfBatchSequence - nextSequence + 1);
                 }
 
-                while (nextSequence <= availableSequence)
+                while (nextSequence <= endOfBatchSequence)
                 {
                     event = dataProvider.get(nextSequence);
-                    eventHandler.onEvent(event, nextSequence, nextSequence == availableSequence);
+                    eventHandler.onEvent(event, nextSequence, nextSequence == endOfBatchSequence);
                     nextSequence++;
                 }
 
-                sequence.set(availableSequence);
+                sequence.set(endOfBatchSequence);
             }
             catch (final TimeoutException e)
             {
@@ -0,0 +1,99 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of the sizes of the batches processed by a {@link BatchEventProcessor}, in power of 2 buckets:
+ * bucket 0 counts batches of 1 event, bucket 1 of 2, bucket 2 of 3 to 4, bucket 3 of 5 to 8 and so on, see
+ * {@link #getUpperBounds()}.  It is written by the processor's thread only, so recording is cheap, and may be
+ * read from any thread.
+ *
+ * @see BatchEventProcessor#setBatchSizeHistogram(BatchSizeHistogram)
+ */
+public final class BatchSizeHistogram
+{
+    private static final int BUCKETS = 32;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong eventCount = new AtomicLong();
+
+    void record(final long batchSize)
+    {
+        final int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(batchSize - 1));
+        counts.lazySet(bucket, counts.get(bucket) + 1);
+        eventCount.lazySet(eventCount.get() + batchSize);
+    }
+
+    /**
+     * @return the number of batches in each bucket.
+     */
+    public long[] getCounts()
+    {
+        final long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            snapshot[i] = counts.get(i);
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * @return the largest batch size counted in each bucket; the last bucket also counts all larger batches.
+     */
+    public static long[] getUpperBounds()
+    {
+        final long[] upperBounds = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            upperBounds[i] = 1L << i;
+        }
+
+        return upperBounds;
+    }
+
+    /**
+     * @return the total number of batches.
+     */
+    public long getBatchCount()
+    {
+        long batchCount = 0;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            batchCount += counts.get(i);
+        }
+
+        return batchCount;
+    }
+
+    /**
+     * @return the total number of events in all batches.
+     */
+    public long getEventCount()
+    {
+        return eventCount.get();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "BatchSizeHistogram{" +
+            "batchCount=" + getBatchCount() +
+            ", eventCount=" + getEventCount() +
+            '}';
+    }
+}
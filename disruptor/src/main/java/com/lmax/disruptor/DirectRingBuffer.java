@@ -0,0 +1,505 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.lmax.disruptor.dsl.ProducerType;
+
+/**
+ * <p>Ring based store of fixed size binary records, held off heap in a direct {@link ByteBuffer}
+ * rather than as pre-allocated event objects.  There are no per event objects at all, so publishing
+ * causes no GC card marking, and consecutive events are contiguous in memory.</p>
+ *
+ * <p>Slots are claimed and published through a {@link Sequencer} exactly as for a {@link RingBuffer}.
+ * Fields are read and written with the absolute accessors, addressed by sequence and by the byte offset
+ * of the field within the slot, typically from a flyweight that knows the record layout:</p>
+ * <pre>
+ * long sequence = ringBuffer.next();
+ * try {
+ *     ringBuffer.putLong(sequence, PRICE_OFFSET, price);
+ *     ringBuffer.putInt(sequence, QUANTITY_OFFSET, quantity);
+ * } finally {
+ *     ringBuffer.publish(sequence);
+ * }
+ * </pre>
+ *
+ * <p>The ring buffer is its own {@link DataProvider}, so it can be consumed by a {@link BatchEventProcessor}
+ * or an {@link EventPoller}; the handler is passed the ring buffer and reads the event at the sequence
+ * it is given.  Field offsets are not checked against the slot size.</p>
+ */
+public final class DirectRingBuffer implements Cursored, Sequenced, DataProvider<DirectRingBuffer>
+{
+    private static final int BUFFER_PAD = 128;
+
+    private final ByteBuffer buffer;
+    private final long indexMask;
+    private final int slotSize;
+    private final int bufferSize;
+    private final Sequencer sequencer;
+
+    /**
+     * Construct a DirectRingBuffer, allocating a new direct buffer for the slots.
+     *
+     * @param slotSize  size in bytes of each record.
+     * @param sequencer sequencer to handle the ordering of events moving through the ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2, or slotSize is less than 1
+     */
+    DirectRingBuffer(int slotSize, Sequencer sequencer)
+    {
+        this(allocate(slotSize, sequencer.getBufferSize()), 0, slotSize, sequencer);
+    }
+
+    /**
+     * Construct a DirectRingBuffer over an existing buffer, such as a memory-mapped file.
+     *
+     * @param buffer    the buffer holding the slots.
+     * @param base      the offset of the first slot within the buffer.
+     * @param slotSize  size in bytes of each record.
+     * @param sequencer sequencer to handle the ordering of events moving through the ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2, slotSize is less than 1
+     *                                  or the buffer is too small to hold the slots.
+     */
+    DirectRingBuffer(ByteBuffer buffer, int base, int slotSize, Sequencer sequencer)
+    {
+        this.sequencer = sequencer;
+        this.bufferSize = sequencer.getBufferSize();
+        this.slotSize = slotSize;
+        checkSizes(slotSize, bufferSize);
+
+        if ((long) base + (long) slotSize * bufferSize > buffer.capacity())
+        {
+            throw new IllegalArgumentException("A buffer of " + buffer.capacity() + " bytes cannot hold " + bufferSize + " slots of " + slotSize + " bytes");
+        }
+
+        final ByteBuffer slots = buffer.duplicate();
+        slots.position(base).limit(base + slotSize * bufferSize);
+        this.buffer = slots.slice().order(ByteOrder.nativeOrder());
+        this.indexMask = bufferSize - 1;
+    }
+
+    /**
+     * Create a new multiple producer DirectRingBuffer with the specified wait strategy.
+     *
+     * @param slotSize     size in bytes of each record.
+     * @param bufferSize   number of records in the ring buffer.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2, or slotSize is less than 1
+     * @see MultiProducerSequencer
+     */
+    public static DirectRingBuffer createMultiProducer(int slotSize, int bufferSize, WaitStrategy waitStrategy)
+    {
+        return new DirectRingBuffer(slotSize, new MultiProducerSequencer(bufferSize, waitStrategy));
+    }
+
+    /**
+     * Create a new single producer DirectRingBuffer with the specified wait strategy.
+     *
+     * @param slotSize     size in bytes of each record.
+     * @param bufferSize   number of records in the ring buffer.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2, or slotSize is less than 1
+     * @see SingleProducerSequencer
+     */
+    public static DirectRingBuffer createSingleProducer(int slotSize, int bufferSize, WaitStrategy waitStrategy)
+    {
+        return new DirectRingBuffer(slotSize, new SingleProducerSequencer(bufferSize, waitStrategy));
+    }
+
+    /**
+     * Create a new DirectRingBuffer with the specified producer type (SINGLE or MULTI)
+     *
+     * @param producerType producer type to use {@link ProducerType}.
+     * @param slotSize     size in bytes of each record.
+     * @param bufferSize   number of records in the ring buffer.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @return a constructed ring buffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2, or slotSize is less than 1
+     */
+    public static DirectRingBuffer create(ProducerType producerType, int slotSize, int bufferSize, WaitStrategy waitStrategy)
+    {
+        switch (producerType)
+        {
+            case SINGLE:
+                return createSingleProducer(slotSize, bufferSize, waitStrategy);
+            case MULTI:
+                return createMultiProducer(slotSize, bufferSize, waitStrategy);
+            default:
+                throw new IllegalStateException(producerType.toString());
+        }
+    }
+
+    /**
+     * Returns this ring buffer, so that it can act as the {@link DataProvider} of an
+     * {@link EventProcessor}.  Read the event with the accessors, using the sequence
+     * passed to the handler.
+     *
+     * @param sequence for the event
+     * @return this ring buffer
+     */
+    @Override
+    public DirectRingBuffer get(long sequence)
+    {
+        return this;
+    }
+
+    public byte getByte(long sequence, int offset)
+    {
+        return buffer.get(offsetOf(sequence) + offset);
+    }
+
+    public void putByte(long sequence, int offset, byte value)
+    {
+        buffer.put(offsetOf(sequence) + offset, value);
+    }
+
+    public short getShort(long sequence, int offset)
+    {
+        return buffer.getShort(offsetOf(sequence) + offset);
+    }
+
+    public void putShort(long sequence, int offset, short value)
+    {
+        buffer.putShort(offsetOf(sequence) + offset, value);
+    }
+
+    public int getInt(long sequence, int offset)
+    {
+        return buffer.getInt(offsetOf(sequence) + offset);
+    }
+
+    public void putInt(long sequence, int offset, int value)
+    {
+        buffer.putInt(offsetOf(sequence) + offset, value);
+    }
+
+    public long getLong(long sequence, int offset)
+    {
+        return buffer.getLong(offsetOf(sequence) + offset);
+    }
+
+    public void putLong(long sequence, int offset, long value)
+    {
+        buffer.putLong(offsetOf(sequence) + offset, value);
+    }
+
+    public double getDouble(long sequence, int offset)
+    {
+        return buffer.getDouble(offsetOf(sequence) + offset);
+    }
+
+    public void putDouble(long sequence, int offset, double value)
+    {
+        buffer.putDouble(offsetOf(sequence) + offset, value);
+    }
+
+    /**
+     * Copy bytes out of the record at the given sequence.
+     *
+     * @param sequence    of the record
+     * @param offset      within the record of the first byte to copy
+     * @param destination to copy into
+     * @param start       index within the destination of the first byte copied
+     * @param length      number of bytes to copy
+     */
+    public void getBytes(long sequence, int offset, byte[] destination, int start, int length)
+    {
+        final int index = offsetOf(sequence) + offset;
+        for (int i = 0; i < length; i++)
+        {
+            destination[start + i] = buffer.get(index + i);
+        }
+    }
+
+    /**
+     * Copy bytes into the record at the given sequence.
+     *
+     * @param sequence of the record
+     * @param offset   within the record of the first byte to write
+     * @param source   to copy from
+     * @param start    index within the source of the first byte to copy
+     * @param length   number of bytes to copy
+     */
+    public void putBytes(long sequence, int offset, byte[] source, int start, int length)
+    {
+        final int index = offsetOf(sequence) + offset;
+        for (int i = 0; i < length; i++)
+        {
+            buffer.put(index + i, source[start + i]);
+        }
+    }
+
+    /**
+     * The size of each record in bytes.
+     *
+     * @return the slot size.
+     */
+    public int getSlotSize()
+    {
+        return slotSize;
+    }
+
+    /**
+     * @see RingBuffer#next()
+     */
+    @Override
+    public long next()
+    {
+        return sequencer.next();
+    }
+
+    /**
+     * @see RingBuffer#next(int)
+     */
+    @Override
+    public long next(int n)
+    {
+        return sequencer.next(n);
+    }
+
+    /**
+     * @see RingBuffer#tryNext()
+     */
+    @Override
+    public long tryNext() throws InsufficientCapacityException
+    {
+        return sequencer.tryNext();
+    }
+
+    /**
+     * @see RingBuffer#tryNext(int)
+     */
+    @Override
+    public long tryNext(int n) throws InsufficientCapacityException
+    {
+        return sequencer.tryNext(n);
+    }
+
+    /**
+     * Publish an event, written by the translator, which is passed this ring buffer and the claimed sequence.
+     *
+     * @param translator the user specified translation for the event
+     */
+    public void publishEvent(EventTranslator<DirectRingBuffer> translator)
+    {
+        final long sequence = sequencer.next();
+        translateAndPublish(translator, sequence);
+    }
+
+    /**
+     * Attempts to publish an event, written by the translator, which is passed this ring buffer and the
+     * claimed sequence.  Will return false if there is no space available in the ring buffer.
+     *
+     * @param translator the user specified translation for the event
+     * @return true if the value was published, false if there was insufficient capacity.
+     */
+    public boolean tryPublishEvent(EventTranslator<DirectRingBuffer> translator)
+    {
+        try
+        {
+            final long sequence = sequencer.tryNext();
+            translateAndPublish(translator, sequence);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Allows one user supplied argument.
+     *
+     * @param <A> Class of the user supplied argument
+     * @param translator The user specified translation for the event
+     * @param arg0       A user supplied argument.
+     * @see #publishEvent(EventTranslator)
+     */
+    public <A> void publishEvent(EventTranslatorOneArg<DirectRingBuffer, A> translator, A arg0)
+    {
+        final long sequence = sequencer.next();
+        translateAndPublish(translator, sequence, arg0);
+    }
+
+    /**
+     * Allows one user supplied argument.
+     *
+     * @param <A> Class of the user supplied argument
+     * @param translator The user specified translation for the event
+     * @param arg0       A user supplied argument.
+     * @return true if the value was published, false if there was insufficient capacity.
+     * @see #tryPublishEvent(EventTranslator)
+     */
+    public <A> boolean tryPublishEvent(EventTranslatorOneArg<DirectRingBuffer, A> translator, A arg0)
+    {
+        try
+        {
+            final long sequence = sequencer.tryNext();
+            translateAndPublish(translator, sequence, arg0);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    @Override
+    public void publish(long sequence)
+    {
+        sequencer.publish(sequence);
+    }
+
+    @Override
+    public void publish(long lo, long hi)
+    {
+        sequencer.publish(lo, hi);
+    }
+
+    /**
+     * @see RingBuffer#addGatingSequences(Sequence...)
+     */
+    public void addGatingSequences(Sequence... gatingSequences)
+    {
+        sequencer.addGatingSequences(gatingSequences);
+    }
+
+    /**
+     * @see RingBuffer#getMinimumGatingSequence()
+     */
+    public long getMinimumGatingSequence()
+    {
+        return sequencer.getMinimumSequence();
+    }
+
+    /**
+     * @see RingBuffer#removeGatingSequence(Sequence)
+     */
+    public boolean removeGatingSequence(Sequence sequence)
+    {
+        return sequencer.removeGatingSequence(sequence);
+    }
+
+    /**
+     * @see RingBuffer#newBarrier(Sequence...)
+     */
+    public SequenceBarrier newBarrier(Sequence... sequencesToTrack)
+    {
+        return sequencer.newBarrier(sequencesToTrack);
+    }
+
+    /**
+     * @see RingBuffer#newPoller(Sequence...)
+     */
+    public EventPoller<DirectRingBuffer> newPoller(Sequence... gatingSequences)
+    {
+        return sequencer.newPoller(this, gatingSequences);
+    }
+
+    @Override
+    public long getCursor()
+    {
+        return sequencer.getCursor();
+    }
+
+    @Override
+    public int getBufferSize()
+    {
+        return bufferSize;
+    }
+
+    @Override
+    public boolean hasAvailableCapacity(int requiredCapacity)
+    {
+        return sequencer.hasAvailableCapacity(requiredCapacity);
+    }
+
+    @Override
+    public long remainingCapacity()
+    {
+        return sequencer.remainingCapacity();
+    }
+
+    private int offsetOf(long sequence)
+    {
+        return (int) (sequence & indexMask) * slotSize;
+    }
+
+    private void translateAndPublish(EventTranslator<DirectRingBuffer> translator, long sequence)
+    {
+        try
+        {
+            translator.translateTo(this, sequence);
+        }
+        finally
+        {
+            sequencer.publish(sequence);
+        }
+    }
+
+    private <A> void translateAndPublish(EventTranslatorOneArg<DirectRingBuffer, A> translator, long sequence, A arg0)
+    {
+        try
+        {
+            translator.translateTo(this, sequence, arg0);
+        }
+        finally
+        {
+            sequencer.publish(sequence);
+        }
+    }
+
+    private static void checkSizes(int slotSize, int bufferSize)
+    {
+        if (bufferSize < 1)
+        {
+            throw new IllegalArgumentException("bufferSize must not be less than 1");
+        }
+        if (Integer.bitCount(bufferSize) != 1)
+        {
+            throw new IllegalArgumentException("bufferSize must be a power of 2");
+        }
+        if (slotSize < 1)
+        {
+            throw new IllegalArgumentException("slotSize must not be less than 1");
+        }
+        if ((long) slotSize * bufferSize > Integer.MAX_VALUE - 2 * BUFFER_PAD)
+        {
+            throw new IllegalArgumentException("slotSize * bufferSize must be less than 2GB");
+        }
+    }
+
+    private static ByteBuffer allocate(int slotSize, int bufferSize)
+    {
+        checkSizes(slotSize, bufferSize);
+
+        // Pad either side of the slots so they do not share cache lines with other data
+        final ByteBuffer padded = ByteBuffer.allocateDirect(slotSize * bufferSize + 2 * BUFFER_PAD);
+        padded.position(BUFFER_PAD).limit(BUFFER_PAD + slotSize * bufferSize);
+        return padded.slice();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DirectRingBuffer{" +
+            "bufferSize=" + bufferSize +
+            ", slotSize=" + slotSize +
+            ", sequencer=" + sequencer +
+            "}";
+    }
+}
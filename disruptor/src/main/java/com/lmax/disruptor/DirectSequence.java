@@ -0,0 +1,79 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A {@link Sequence} whose value is held at an 8 byte aligned offset of a direct {@link ByteBuffer},
+ * such as a memory-mapped file, rather than in the object itself.  Sequences over the same file
+ * mapped into different processes see each others updates with the same ordering guarantees as
+ * an ordinary Sequence.
+ */
+final class DirectSequence extends Sequence
+{
+    private static final VarHandle LONG_VIEW = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer buffer;
+    private final int offset;
+
+    DirectSequence(final ByteBuffer buffer, final int offset)
+    {
+        if (!buffer.isDirect())
+        {
+            throw new IllegalArgumentException("buffer must be direct");
+        }
+        if ((offset & 7) != 0 || offset < 0 || offset + 8 > buffer.capacity())
+        {
+            throw new IllegalArgumentException("offset must be 8 byte aligned and within the buffer: " + offset);
+        }
+
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    @Override
+    public long get()
+    {
+        return (long) LONG_VIEW.getAcquire(buffer, offset);
+    }
+
+    @Override
+    public void set(final long value)
+    {
+        LONG_VIEW.setRelease(buffer, offset, value);
+    }
+
+    @Override
+    public void setVolatile(final long value)
+    {
+        LONG_VIEW.setRelease(buffer, offset, value);
+        VarHandle.fullFence();
+    }
+
+    @Override
+    public boolean compareAndSet(final long expectedValue, final long newValue)
+    {
+        return LONG_VIEW.compareAndSet(buffer, offset, expectedValue, newValue);
+    }
+
+    @Override
+    public long addAndGet(final long increment)
+    {
+        return (long) LONG_VIEW.getAndAdd(buffer, offset, increment) + increment;
+    }
+}
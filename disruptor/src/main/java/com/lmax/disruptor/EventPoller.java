@@ -33,10 +33,21 @@ public class EventPoller<T>
     }
 
     public PollState poll(final Handler<T> eventHandler) throws Exception
+    {
+        return poll(eventHandler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Poll for at most <code>maxBatchSize</code> events, the last of which is passed to the handler with
+     * <code>endOfBatch</code> set.
+     */
+    public PollState poll(final Handler<T> eventHandler, final int maxBatchSize) throws Exception
     {
         final long currentSequence = sequence.get();
         long nextSequence = currentSequence + 1;
-        final long availableSequence = sequencer.getHighestPublishedSequence(nextSequence, gatingSequence.get());
+        final long availableSequence = Math.min(
+            currentSequence + maxBatchSize,
+            sequencer.getHighestPublishedSequence(nextSequence, gatingSequence.get()));
 
         if (nextSequence <= availableSequence)
         {
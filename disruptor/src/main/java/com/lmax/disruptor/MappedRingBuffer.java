@@ -0,0 +1,210 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>A {@link DirectRingBuffer} held in a memory-mapped file, together with its cursor and the sequences
+ * of a fixed number of consumers, so that a producer and its consumers can run in different processes
+ * on the same host.  Each process opens the same file; the producer publishes through
+ * {@link #getRingBuffer()} and each consumer runs a {@link BatchEventProcessor} (or an {@link EventPoller})
+ * that tracks its progress in {@link #getConsumerSequence(int)}:</p>
+ * <pre>
+ * MappedRingBuffer mapped = MappedRingBuffer.open(path, 64, 1024, 1, new YieldingWaitStrategy());
+ * DirectRingBuffer ringBuffer = mapped.getRingBuffer();
+ * BatchEventProcessor&lt;DirectRingBuffer&gt; processor =
+ *     new BatchEventProcessor&lt;&gt;(ringBuffer, ringBuffer.newBarrier(), handler, mapped.getConsumerSequence(0));
+ * </pre>
+ *
+ * <p>There may be only one producing thread across all processes.  The producer is gated on every consumer
+ * sequence in the file, whether or not that consumer is running.  Because the cursor and consumer sequences
+ * persist in the file, a producer or consumer that is restarted resumes where it left off, and unconsumed
+ * events survive a process crash (call {@link #force()} to also survive a host crash).</p>
+ *
+ * <p>Only wait strategies that spin, yield or sleep may be used; strategies that block on a lock, such as
+ * {@link BlockingWaitStrategy}, are never signalled by a producer in another process.</p>
+ */
+public final class MappedRingBuffer
+{
+    private static final long MAGIC = 0x4C4D41584D524231L;
+    private static final int SLOT_SIZE_OFFSET = 8;
+    private static final int BUFFER_SIZE_OFFSET = 12;
+    private static final int CONSUMER_COUNT_OFFSET = 16;
+    // Each sequence has a cache line pair of its own
+    private static final int SEQUENCE_STRIDE = 128;
+    private static final int CURSOR_OFFSET = SEQUENCE_STRIDE;
+
+    private final MappedByteBuffer mappedBuffer;
+    private final Sequence[] consumerSequences;
+    private final DirectRingBuffer ringBuffer;
+
+    private MappedRingBuffer(MappedByteBuffer mappedBuffer, int slotSize, int bufferSize, int consumerCount, WaitStrategy waitStrategy)
+    {
+        this.mappedBuffer = mappedBuffer;
+        this.consumerSequences = new Sequence[consumerCount];
+        for (int i = 0; i < consumerCount; i++)
+        {
+            consumerSequences[i] = new DirectSequence(mappedBuffer, consumerSequenceOffset(i));
+        }
+
+        final SingleProducerSequencer sequencer =
+            new SingleProducerSequencer(bufferSize, waitStrategy, new DirectSequence(mappedBuffer, CURSOR_OFFSET));
+        // Gate on the consumer sequences as they are, addGatingSequences() would move them up to the cursor
+        // and skip the events that a consumer in another (or a previous) process has yet to process
+        sequencer.gatingSequences = consumerSequences.clone();
+        this.ringBuffer = new DirectRingBuffer(mappedBuffer, slotsOffset(consumerCount), slotSize, sequencer);
+    }
+
+    /**
+     * Open, or create, a memory-mapped ring buffer.  An existing file must have been created with the same
+     * slot size, buffer size and consumer count.
+     *
+     * @param file          to map.
+     * @param slotSize      size in bytes of each record.
+     * @param bufferSize    number of records in the ring buffer.
+     * @param consumerCount number of consumer sequences held in the file.
+     * @param waitStrategy  used to determine how to wait for new elements to become available.
+     * @return the mapped ring buffer.
+     * @throws IOException              if the file cannot be opened or mapped.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2, slotSize or consumerCount is less
+     *                                  than 1, or an existing file was created with different sizes.
+     */
+    public static MappedRingBuffer open(Path file, int slotSize, int bufferSize, int consumerCount, WaitStrategy waitStrategy)
+        throws IOException
+    {
+        if (consumerCount < 1)
+        {
+            throw new IllegalArgumentException("consumerCount must not be less than 1");
+        }
+        if (Integer.bitCount(bufferSize) != 1 || bufferSize < 1)
+        {
+            throw new IllegalArgumentException("bufferSize must be a positive power of 2");
+        }
+        if (slotSize < 1 || (long) slotSize * bufferSize > Integer.MAX_VALUE - slotsOffset(consumerCount))
+        {
+            throw new IllegalArgumentException("slotSize must be positive and the file less than 2GB");
+        }
+
+        final int fileSize = slotsOffset(consumerCount) + slotSize * bufferSize;
+        final MappedByteBuffer mappedBuffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            final boolean isNew = channel.size() == 0;
+            if (!isNew && channel.size() != fileSize)
+            {
+                throw new IllegalArgumentException(file + " is " + channel.size() + " bytes, expected " + fileSize);
+            }
+
+            mappedBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            mappedBuffer.order(ByteOrder.nativeOrder());
+
+            if (isNew)
+            {
+                initialise(mappedBuffer, slotSize, bufferSize, consumerCount);
+            }
+            else
+            {
+                verify(file, mappedBuffer, slotSize, bufferSize, consumerCount);
+            }
+        }
+
+        return new MappedRingBuffer(mappedBuffer, slotSize, bufferSize, consumerCount, waitStrategy);
+    }
+
+    /**
+     * The ring buffer held in the file, for publishing, reading events and creating barriers.
+     *
+     * @return the ring buffer.
+     */
+    public DirectRingBuffer getRingBuffer()
+    {
+        return ringBuffer;
+    }
+
+    /**
+     * The sequence held in the file in which a consumer tracks its progress.
+     *
+     * @param consumer index of the consumer, from 0 to the consumer count - 1.
+     * @return the consumer's sequence.
+     */
+    public Sequence getConsumerSequence(int consumer)
+    {
+        return consumerSequences[consumer];
+    }
+
+    /**
+     * Force any changes to the file to be written to the storage device.
+     */
+    public void force()
+    {
+        mappedBuffer.force();
+    }
+
+    private static void initialise(MappedByteBuffer mappedBuffer, int slotSize, int bufferSize, int consumerCount)
+    {
+        mappedBuffer.putInt(SLOT_SIZE_OFFSET, slotSize);
+        mappedBuffer.putInt(BUFFER_SIZE_OFFSET, bufferSize);
+        mappedBuffer.putInt(CONSUMER_COUNT_OFFSET, consumerCount);
+        mappedBuffer.putLong(CURSOR_OFFSET, Sequencer.INITIAL_CURSOR_VALUE);
+        for (int i = 0; i < consumerCount; i++)
+        {
+            mappedBuffer.putLong(consumerSequenceOffset(i), Sequencer.INITIAL_CURSOR_VALUE);
+        }
+
+        // Written last, with a store fence, so that another process never sees a partly initialised header
+        new DirectSequence(mappedBuffer, 0).setVolatile(MAGIC);
+    }
+
+    private static void verify(Path file, MappedByteBuffer mappedBuffer, int slotSize, int bufferSize, int consumerCount)
+    {
+        if (new DirectSequence(mappedBuffer, 0).get() != MAGIC)
+        {
+            throw new IllegalArgumentException(file + " is not an initialised ring buffer file");
+        }
+        if (mappedBuffer.getInt(SLOT_SIZE_OFFSET) != slotSize ||
+            mappedBuffer.getInt(BUFFER_SIZE_OFFSET) != bufferSize ||
+            mappedBuffer.getInt(CONSUMER_COUNT_OFFSET) != consumerCount)
+        {
+            throw new IllegalArgumentException(
+                file + " was created with slotSize " + mappedBuffer.getInt(SLOT_SIZE_OFFSET) +
+                    ", bufferSize " + mappedBuffer.getInt(BUFFER_SIZE_OFFSET) +
+                    " and consumerCount " + mappedBuffer.getInt(CONSUMER_COUNT_OFFSET));
+        }
+    }
+
+    private static int consumerSequenceOffset(int consumer)
+    {
+        return CURSOR_OFFSET + SEQUENCE_STRIDE * (consumer + 1);
+    }
+
+    private static int slotsOffset(int consumerCount)
+    {
+        return consumerSequenceOffset(consumerCount);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "MappedRingBuffer{" +
+            "ringBuffer=" + ringBuffer +
+            ", consumers=" + consumerSequences.length +
+            "}";
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An {@link EventProcessor} that consumes events from several ring buffers on a single thread, delegating
+ * them all to one {@link EventHandler}, so that events from independent producers can be merged without
+ * a further hand-off.
+ * <p>
+ * Each ring buffer is consumed through an {@link EventPoller}.  The pollers are visited in turn and each
+ * visit processes at most <code>maxBatchSize</code> events, the last with <code>endOfBatch</code> set, so a
+ * busy ring buffer cannot starve the others.  When none of them has events available the processor spins,
+ * then yields and finally parks, in the manner of {@link SleepingWaitStrategy}; the wait strategies of the
+ * ring buffers are not used.
+ * <p>
+ * The sequence of each poller must be added as a gating sequence of its ring buffer before the processor is
+ * started, see {@link #getSequences()}.
+ * <p>
+ * If the {@link EventHandler} also implements {@link LifecycleAware} it will be notified just after the thread
+ * is started and just before the thread is shutdown.
+ *
+ * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+public final class MultiBufferBatchEventProcessor<T>
+    implements EventProcessor
+{
+    private static final int IDLE = 0;
+    private static final int HALTED = IDLE + 1;
+    private static final int RUNNING = HALTED + 1;
+
+    private static final int RETRIES = 200;
+    private static final long SLEEP_NS = 100;
+
+    private final AtomicInteger running = new AtomicInteger(IDLE);
+    private ExceptionHandler<? super T> exceptionHandler = new FatalExceptionHandler();
+    private final List<EventPoller<T>> pollers;
+    private final Sequence[] sequences;
+    private final EventHandler<? super T> eventHandler;
+    private final int maxBatchSize;
+    private final EventPoller.Handler<T> pollHandler = this::onEvent;
+
+    /**
+     * Construct a processor over one poller for each ring buffer to be consumed, for example as created
+     * by {@link RingBuffer#newPoller(Sequence...)}.
+     *
+     * @param eventHandler is the delegate to which events are dispatched.
+     * @param maxBatchSize the maximum number of events to process from one ring buffer before moving to the next.
+     * @param pollers      of the ring buffers to consume, visited in this order.
+     * @throws IllegalArgumentException if there are no pollers or maxBatchSize is less than 1
+     */
+    public MultiBufferBatchEventProcessor(
+        final EventHandler<? super T> eventHandler,
+        final int maxBatchSize,
+        final List<EventPoller<T>> pollers)
+    {
+        if (pollers.isEmpty())
+        {
+            throw new IllegalArgumentException("At least one poller is required");
+        }
+        if (maxBatchSize < 1)
+        {
+            throw new IllegalArgumentException("maxBatchSize must not be less than 1");
+        }
+
+        this.pollers = new ArrayList<>(pollers);
+        this.eventHandler = eventHandler;
+        this.maxBatchSize = maxBatchSize;
+
+        sequences = new Sequence[pollers.size()];
+        for (int i = 0; i < sequences.length; i++)
+        {
+            sequences[i] = this.pollers.get(i).getSequence();
+        }
+    }
+
+    /**
+     * Get the sequence of the first ring buffer; the processor tracks its progress through each ring buffer
+     * separately, see {@link #getSequences()}.
+     *
+     * @return the sequence of the first poller.
+     */
+    @Override
+    public Sequence getSequence()
+    {
+        return sequences[0];
+    }
+
+    /**
+     * Get the sequences tracking the progress through each ring buffer, in the order the pollers were supplied.
+     *
+     * @return the sequence of each poller.
+     */
+    public Sequence[] getSequences()
+    {
+        return sequences.clone();
+    }
+
+    @Override
+    public void halt()
+    {
+        running.set(HALTED);
+    }
+
+    @Override
+    public boolean isRunning()
+    {
+        return running.get() != IDLE;
+    }
+
+    /**
+     * Set a new {@link ExceptionHandler} for handling exceptions propagated out of the {@link EventHandler}
+     *
+     * @param exceptionHandler to replace the existing exceptionHandler.
+     */
+    public void setExceptionHandler(final ExceptionHandler<? super T> exceptionHandler)
+    {
+        if (null == exceptionHandler)
+        {
+            throw new NullPointerException();
+        }
+
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    /**
+     * It is ok to have another thread rerun this method after a halt().
+     *
+     * @throws IllegalStateException if this object instance is already running in a thread
+     */
+    @Override
+    public void run()
+    {
+        if (running.compareAndSet(IDLE, RUNNING))
+        {
+            notifyStart();
+            try
+            {
+                processEvents();
+            }
+            finally
+            {
+                notifyShutdown();
+                running.set(IDLE);
+            }
+        }
+        else
+        {
+            if (running.get() == RUNNING)
+            {
+                throw new IllegalStateException("Thread is already running");
+            }
+            else
+            {
+                notifyStart();
+                notifyShutdown();
+            }
+        }
+    }
+
+    private void processEvents()
+    {
+        int counter = RETRIES;
+        while (running.get() == RUNNING)
+        {
+            boolean processed = false;
+            for (int i = 0, size = pollers.size(); i < size; i++)
+            {
+                processed |= poll(pollers.get(i)) == EventPoller.PollState.PROCESSING;
+            }
+
+            counter = processed ? RETRIES : applyWaitMethod(counter);
+        }
+    }
+
+    private EventPoller.PollState poll(final EventPoller<T> poller)
+    {
+        try
+        {
+            return poller.poll(pollHandler, maxBatchSize);
+        }
+        catch (final Exception ex)
+        {
+            throw ex instanceof RuntimeException ? (RuntimeException) ex : new RuntimeException(ex);
+        }
+    }
+
+    private boolean onEvent(final T event, final long sequence, final boolean endOfBatch)
+    {
+        try
+        {
+            eventHandler.onEvent(event, sequence, endOfBatch);
+        }
+        catch (final Throwable ex)
+        {
+            exceptionHandler.handleEventException(ex, sequence, event);
+        }
+
+        return true;
+    }
+
+    private static int applyWaitMethod(int counter)
+    {
+        if (counter > 100)
+        {
+            --counter;
+        }
+        else if (counter > 0)
+        {
+            --counter;
+            Thread.yield();
+        }
+        else
+        {
+            LockSupport.parkNanos(SLEEP_NS);
+        }
+
+        return counter;
+    }
+
+    /**
+     * Notifies the EventHandler when this processor is starting up
+     */
+    private void notifyStart()
+    {
+        if (eventHandler instanceof LifecycleAware)
+        {
+            try
+            {
+                ((LifecycleAware) eventHandler).onStart();
+            }
+            catch (final Throwable ex)
+            {
+                exceptionHandler.handleOnStartException(ex);
+            }
+        }
+    }
+
+    /**
+     * Notifies the EventHandler immediately prior to this processor shutting down
+     */
+    private void notifyShutdown()
+    {
+        if (eventHandler instanceof LifecycleAware)
+        {
+            try
+            {
+                ((LifecycleAware) eventHandler).onShutdown();
+            }
+            catch (final Throwable ex)
+            {
+                exceptionHandler.handleOnShutdownException(ex);
+            }
+        }
+    }
+}
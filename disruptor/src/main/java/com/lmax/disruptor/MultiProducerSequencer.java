@@ -15,10 +15,10 @@
  */
 package com.lmax.disruptor;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.concurrent.locks.LockSupport;
 
-import sun.misc.Unsafe;
-
 import com.lmax.disruptor.util.Util;
 
 
@@ -32,9 +32,7 @@ import com.lmax.disruptor.util.Util;
  */
 public final class MultiProducerSequencer extends AbstractSequencer
 {
-    private static final Unsafe UNSAFE = Util.getUnsafe();
-    private static final long BASE = UNSAFE.arrayBaseOffset(int[].class);
-    private static final long SCALE = UNSAFE.arrayIndexScale(int[].class);
+    private static final VarHandle AVAILABLE_ARRAY = MethodHandles.arrayElementVarHandle(int[].class);
 
     private final Sequence gatingSequenceCache = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
 
@@ -118,6 +116,7 @@ public final class MultiProducerSequencer extends AbstractSequencer
 
         long current;
         long next;
+        long stallStartTime = 0;
 
         do
         {
@@ -133,6 +132,10 @@ public final class MultiProducerSequencer extends AbstractSequencer
 
                 if (wrapPoint > gatingSequence)
                 {
+                    if (stallStartTime == 0 && producerStallStats != null)
+                    {
+                        stallStartTime = System.nanoTime();
+                    }
                     LockSupport.parkNanos(1); // TODO, should we spin based on the wait strategy?
                     continue;
                 }
@@ -146,6 +149,11 @@ public final class MultiProducerSequencer extends AbstractSequencer
         }
         while (true);
 
+        if (stallStartTime != 0)
+        {
+            producerStallStats.record(System.nanoTime() - stallStartTime);
+        }
+
         return next;
     }
 
@@ -257,8 +265,7 @@ public final class MultiProducerSequencer extends AbstractSequencer
 
     private void setAvailableBufferValue(int index, int flag)
     {
-        long bufferAddress = (index * SCALE) + BASE;
-        UNSAFE.putOrderedInt(availableBuffer, bufferAddress, flag);
+        AVAILABLE_ARRAY.setRelease(availableBuffer, index, flag);
     }
 
     /**
@@ -269,8 +276,7 @@ public final class MultiProducerSequencer extends AbstractSequencer
     {
         int index = calculateIndex(sequence);
         int flag = calculateAvailabilityFlag(sequence);
-        long bufferAddress = (index * SCALE) + BASE;
-        return UNSAFE.getIntVolatile(availableBuffer, bufferAddress) == flag;
+        return (int) AVAILABLE_ARRAY.getAcquire(availableBuffer, index) == flag;
     }
 
     @Override
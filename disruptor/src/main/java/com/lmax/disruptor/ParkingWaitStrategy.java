@@ -0,0 +1,163 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.lang.invoke.VarHandle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.lmax.disruptor.util.ThreadHints;
+
+/**
+ * <p>Wait strategy that spins, then yields, then parks each waiting {@link EventProcessor} individually
+ * with {@link LockSupport#park}.</p>
+ *
+ * <p>Under load events arrive while the processor is still spinning, giving latency close to
+ * {@link BusySpinWaitStrategy}; when idle the processors are parked and use no CPU.  Unlike
+ * {@link BlockingWaitStrategy} there is no lock: a publisher only reads a count of parked processors, and
+ * unparks them, if there are any, one by one.</p>
+ */
+public final class ParkingWaitStrategy implements WaitStrategy
+{
+    private static final int SPIN_TRIES = 100;
+    private static final long DEFAULT_SPIN_TIMEOUT_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long DEFAULT_YIELD_TIMEOUT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final long spinTimeoutNanos;
+    private final long yieldTimeoutNanos;
+    private final AtomicInteger parkedCount = new AtomicInteger();
+    private final Set<Thread> parkedThreads = ConcurrentHashMap.newKeySet();
+
+    public ParkingWaitStrategy()
+    {
+        this(DEFAULT_SPIN_TIMEOUT_NANOS, DEFAULT_YIELD_TIMEOUT_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param spinTimeout  The maximum time to busy spin for.
+     * @param yieldTimeout The maximum time to yield for, after spinning, before parking.
+     * @param units        Time units used for the timeout values.
+     */
+    public ParkingWaitStrategy(final long spinTimeout, final long yieldTimeout, final TimeUnit units)
+    {
+        this.spinTimeoutNanos = units.toNanos(spinTimeout);
+        this.yieldTimeoutNanos = spinTimeoutNanos + units.toNanos(yieldTimeout);
+    }
+
+    @Override
+    public long waitFor(long sequence, Sequence cursorSequence, Sequence dependentSequence, SequenceBarrier barrier)
+        throws AlertException, InterruptedException
+    {
+        long availableSequence;
+        long startTime = 0;
+        int counter = SPIN_TRIES;
+
+        while (cursorSequence.get() < sequence)
+        {
+            barrier.checkAlert();
+
+            if (counter > 0)
+            {
+                --counter;
+                ThreadHints.onSpinWait();
+            }
+            else
+            {
+                final long now = System.nanoTime();
+                if (startTime == 0)
+                {
+                    startTime = now;
+                }
+
+                final long timeDelta = now - startTime;
+                if (timeDelta > yieldTimeoutNanos)
+                {
+                    park(sequence, cursorSequence, barrier);
+                }
+                else if (timeDelta > spinTimeoutNanos)
+                {
+                    Thread.yield();
+                }
+                else
+                {
+                    counter = SPIN_TRIES;
+                }
+            }
+        }
+
+        while ((availableSequence = dependentSequence.get()) < sequence)
+        {
+            barrier.checkAlert();
+            ThreadHints.onSpinWait();
+        }
+
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+        // Order the publisher's cursor store before reading the count, the processor registers
+        // before it re-reads the cursor, so one of them always sees the other
+        VarHandle.fullFence();
+        if (parkedCount.get() != 0)
+        {
+            for (final Thread thread : parkedThreads)
+            {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    private void park(final long sequence, final Sequence cursorSequence, final SequenceBarrier barrier)
+        throws AlertException, InterruptedException
+    {
+        final Thread thread = Thread.currentThread();
+        parkedThreads.add(thread);
+        parkedCount.incrementAndGet();
+        // The cursor is read with acquire semantics, which alone would not order it after the registration
+        VarHandle.fullFence();
+        try
+        {
+            while (cursorSequence.get() < sequence)
+            {
+                barrier.checkAlert();
+                if (Thread.interrupted())
+                {
+                    throw new InterruptedException();
+                }
+
+                LockSupport.park(this);
+            }
+        }
+        finally
+        {
+            parkedCount.decrementAndGet();
+            parkedThreads.remove(thread);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ParkingWaitStrategy{" +
+            "spinTimeoutNanos=" + spinTimeoutNanos +
+            ", yieldTimeoutNanos=" + yieldTimeoutNanos +
+            ", parkedCount=" + parkedCount.get() +
+            '}';
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the claims in which a producer had to wait in {@link Sequencer#next(int)} for the slowest gating
+ * sequence to free capacity, and the total time spent waiting.  Claims that did not have to wait are not
+ * timed or counted.
+ *
+ * @see RingBuffer#recordProducerStalls()
+ */
+public final class ProducerStallStats
+{
+    private final LongAdder stallCount = new LongAdder();
+    private final LongAdder stallNanos = new LongAdder();
+
+    void record(final long nanos)
+    {
+        stallCount.increment();
+        stallNanos.add(nanos);
+    }
+
+    /**
+     * @return the number of claims that waited for capacity.
+     */
+    public long getStallCount()
+    {
+        return stallCount.sum();
+    }
+
+    /**
+     * @return the total time claims have waited for capacity, in nanoseconds.
+     */
+    public long getStallNanos()
+    {
+        return stallNanos.sum();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ProducerStallStats{" +
+            "stallCount=" + getStallCount() +
+            ", stallNanos=" + getStallNanos() +
+            '}';
+    }
+}
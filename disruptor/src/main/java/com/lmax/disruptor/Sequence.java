@@ -15,9 +15,8 @@
  */
 package com.lmax.disruptor;
 
-import sun.misc.Unsafe;
-
-import com.lmax.disruptor.util.Util;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
 
 class LhsPadding
@@ -42,19 +41,21 @@ class RhsPadding extends Value
  *
  * <p>Also attempts to be more efficient with regards to false
  * sharing by adding padding around the volatile field.
+ *
+ * <p>Reads have acquire and ordered writes release semantics, which is all
+ * the ring buffer protocol needs, rather than the full volatile semantics
+ * of the field.
  */
 public class Sequence extends RhsPadding
 {
     static final long INITIAL_VALUE = -1L;
-    private static final Unsafe UNSAFE;
-    private static final long VALUE_OFFSET;
+    private static final VarHandle VALUE_FIELD;
 
     static
     {
-        UNSAFE = Util.getUnsafe();
         try
         {
-            VALUE_OFFSET = UNSAFE.objectFieldOffset(Value.class.getDeclaredField("value"));
+            VALUE_FIELD = MethodHandles.lookup().findVarHandle(Value.class, "value", long.class);
         }
         catch (final Exception e)
         {
@@ -77,17 +78,19 @@ public class Sequence extends RhsPadding
      */
     public Sequence(final long initialValue)
     {
-        UNSAFE.putOrderedLong(this, VALUE_OFFSET, initialValue);
+        VALUE_FIELD.setRelease(this, initialValue);
     }
 
     /**
-     * Perform a volatile read of this sequence's value.
+     * Perform an acquire read of this sequence's value.  The intent is
+     * a Load/Load and Load/Store barrier between this read and any
+     * subsequent read or write.
      *
      * @return The current value of the sequence.
      */
     public long get()
     {
-        return value;
+        return (long) VALUE_FIELD.getAcquire(this);
     }
 
     /**
@@ -99,7 +102,7 @@ public class Sequence extends RhsPadding
      */
     public void set(final long value)
     {
-        UNSAFE.putOrderedLong(this, VALUE_OFFSET, value);
+        VALUE_FIELD.setRelease(this, value);
     }
 
     /**
@@ -112,7 +115,8 @@ public class Sequence extends RhsPadding
      */
     public void setVolatile(final long value)
     {
-        UNSAFE.putLongVolatile(this, VALUE_OFFSET, value);
+        VALUE_FIELD.setRelease(this, value);
+        VarHandle.fullFence();
     }
 
     /**
@@ -124,7 +128,7 @@ public class Sequence extends RhsPadding
      */
     public boolean compareAndSet(final long expectedValue, final long newValue)
     {
-        return UNSAFE.compareAndSwapLong(this, VALUE_OFFSET, expectedValue, newValue);
+        return VALUE_FIELD.compareAndSet(this, expectedValue, newValue);
     }
 
     /**
@@ -145,17 +149,7 @@ public class Sequence extends RhsPadding
      */
     public long addAndGet(final long increment)
     {
-        long currentValue;
-        long newValue;
-
-        do
-        {
-            currentValue = get();
-            newValue = currentValue + increment;
-        }
-        while (!compareAndSet(currentValue, newValue));
-
-        return newValue;
+        return (long) VALUE_FIELD.getAndAdd(this, increment) + increment;
     }
 
     @Override
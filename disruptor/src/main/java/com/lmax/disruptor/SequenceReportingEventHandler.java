@@ -22,6 +22,9 @@ package com.lmax.disruptor;
  * Typically this would be used when the handler is performing some sort of batching operation such as writing to an IO
  * device; after the operation has completed, the implementation should call {@link Sequence#set} to update the
  * sequence and allow other processes that are dependent on this handler to progress.
+ * <p>
+ * It may also be used to release slots early within a long batch, by setting the sequence to that of the last event
+ * the handler no longer needs before the batch ends.  The sequence must never be set beyond the current event.
  *
  * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
  */
@@ -23,17 +23,17 @@ abstract class SingleProducerSequencerPad extends AbstractSequencer
 {
     protected long p1, p2, p3, p4, p5, p6, p7;
 
-    SingleProducerSequencerPad(int bufferSize, WaitStrategy waitStrategy)
+    SingleProducerSequencerPad(int bufferSize, WaitStrategy waitStrategy, Sequence cursor)
     {
-        super(bufferSize, waitStrategy);
+        super(bufferSize, waitStrategy, cursor);
     }
 }
 
 abstract class SingleProducerSequencerFields extends SingleProducerSequencerPad
 {
-    SingleProducerSequencerFields(int bufferSize, WaitStrategy waitStrategy)
+    SingleProducerSequencerFields(int bufferSize, WaitStrategy waitStrategy, Sequence cursor)
     {
-        super(bufferSize, waitStrategy);
+        super(bufferSize, waitStrategy, cursor);
     }
 
     /**
@@ -63,7 +63,20 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
      */
     public SingleProducerSequencer(int bufferSize, WaitStrategy waitStrategy)
     {
-        super(bufferSize, waitStrategy);
+        this(bufferSize, waitStrategy, new Sequence(Sequencer.INITIAL_CURSOR_VALUE));
+    }
+
+    /**
+     * Construct a Sequencer that publishes to the supplied cursor, continuing from its current value.
+     *
+     * @param bufferSize   the size of the buffer that this will sequence over.
+     * @param waitStrategy for those waiting on sequences.
+     * @param cursor       the sequence to publish to, such as one shared with another process.
+     */
+    SingleProducerSequencer(int bufferSize, WaitStrategy waitStrategy, Sequence cursor)
+    {
+        super(bufferSize, waitStrategy, cursor);
+        this.nextValue = cursor.get();
     }
 
     /**
@@ -132,11 +145,21 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
             cursor.setVolatile(nextValue);  // StoreLoad fence
 
             long minSequence;
+            long stallStartTime = 0;
             while (wrapPoint > (minSequence = Util.getMinimumSequence(gatingSequences, nextValue)))
             {
+                if (stallStartTime == 0 && producerStallStats != null)
+                {
+                    stallStartTime = System.nanoTime();
+                }
                 LockSupport.parkNanos(1L); // TODO: Use waitStrategy to spin?
             }
 
+            if (stallStartTime != 0)
+            {
+                producerStallStats.record(System.nanoTime() - stallStartTime);
+            }
+
             this.cachedValue = minSequence;
         }
 
@@ -23,6 +23,12 @@ import java.util.concurrent.atomic.AtomicBoolean;
  *
  * <p>Generally, this will be used as part of a {@link WorkerPool}.</p>
  *
+ * <p>By default each processor claims one sequence at a time from the shared work sequence.  With a
+ * maximum batch size greater than one, a processor that has seen a backlog of published events claims
+ * a range of up to that many of them with a single compare and set, which relieves contention on the
+ * work sequence when there are many workers.  When there is no backlog it still claims one sequence
+ * at a time, so events are not held back behind a busy worker.</p>
+ *
  * @param <T> event implementation storing the details for the work to processed.
  */
 public final class WorkProcessor<T>
@@ -35,6 +41,7 @@ public final class WorkProcessor<T>
     private final WorkHandler<? super T> workHandler;
     private final ExceptionHandler<? super T> exceptionHandler;
     private final Sequence workSequence;
+    private final int maxBatchSize;
 
     private final EventReleaser eventReleaser = new EventReleaser()
     {
@@ -64,6 +71,35 @@ public final class WorkProcessor<T>
         final ExceptionHandler<? super T> exceptionHandler,
         final Sequence workSequence)
     {
+        this(ringBuffer, sequenceBarrier, workHandler, exceptionHandler, workSequence, 1);
+    }
+
+    /**
+     * Construct a {@link WorkProcessor} that claims up to <code>maxBatchSize</code> sequences at a time.
+     *
+     * @param ringBuffer       to which events are published.
+     * @param sequenceBarrier  on which it is waiting.
+     * @param workHandler      is the delegate to which events are dispatched.
+     * @param exceptionHandler to be called back when an error occurs
+     * @param workSequence     from which to claim the next event to be worked on.  It should always be initialised
+     *                         as {@link Sequencer#INITIAL_CURSOR_VALUE}
+     * @param maxBatchSize     the maximum number of sequences to claim at a time.
+     * @throws IllegalArgumentException if maxBatchSize is less than 1
+     */
+    public WorkProcessor(
+        final RingBuffer<T> ringBuffer,
+        final SequenceBarrier sequenceBarrier,
+        final WorkHandler<? super T> workHandler,
+        final ExceptionHandler<? super T> exceptionHandler,
+        final Sequence workSequence,
+        final int maxBatchSize)
+    {
+        if (maxBatchSize < 1)
+        {
+            throw new IllegalArgumentException("maxBatchSize must not be less than 1");
+        }
+
+        this.maxBatchSize = maxBatchSize;
         this.ringBuffer = ringBuffer;
         this.sequenceBarrier = sequenceBarrier;
         this.workHandler = workHandler;
@@ -116,6 +152,7 @@ public final class WorkProcessor<T>
         boolean processedSequence = true;
         long cachedAvailableSequence = Long.MIN_VALUE;
         long nextSequence = sequence.get();
+        long lastClaimedSequence = nextSequence;
         T event = null;
         while (true)
         {
@@ -129,12 +166,23 @@ public final class WorkProcessor<T>
                 if (processedSequence)
                 {
                     processedSequence = false;
-                    do
+                    if (nextSequence < lastClaimedSequence)
                     {
-                        nextSequence = workSequence.get() + 1L;
-                        sequence.set(nextSequence - 1L);
+                        // still working through a claimed range, which the sequence already gates
+                        nextSequence++;
+                    }
+                    else
+                    {
+                        long currentSequence;
+                        do
+                        {
+                            currentSequence = workSequence.get();
+                            nextSequence = currentSequence + 1L;
+                            lastClaimedSequence = currentSequence + claimSize(currentSequence, cachedAvailableSequence);
+                            sequence.set(currentSequence);
+                        }
+                        while (!workSequence.compareAndSet(currentSequence, lastClaimedSequence));
                     }
-                    while (!workSequence.compareAndSet(nextSequence - 1L, nextSequence));
                 }
 
                 if (cachedAvailableSequence >= nextSequence)
@@ -172,6 +220,17 @@ public final class WorkProcessor<T>
         running.set(false);
     }
 
+    /**
+     * Claim as many of the events known to be published, up to the maximum batch size, or a
+     * single sequence if none are.  Claiming only published events means a claimed range never
+     * has to be waited for, so it is never left unprocessed by a halt.
+     */
+    private int claimSize(final long currentSequence, final long cachedAvailableSequence)
+    {
+        final long backlog = cachedAvailableSequence - currentSequence;
+        return backlog > 1L ? (int) Math.min(maxBatchSize, backlog) : 1;
+    }
+
     private void notifyTimeout(final long availableSequence)
     {
         try
@@ -51,6 +51,32 @@ public final class WorkerPool<T>
         final SequenceBarrier sequenceBarrier,
         final ExceptionHandler<? super T> exceptionHandler,
         final WorkHandler<? super T>... workHandlers)
+    {
+        this(ringBuffer, sequenceBarrier, exceptionHandler, 1, workHandlers);
+    }
+
+    /**
+     * Create a worker pool whose workers each claim up to <code>maxBatchSize</code> published sequences at a time,
+     * reducing contention on the shared work sequence when there are many workers.
+     * <p>
+     * This option requires a pre-configured {@link RingBuffer} which must have {@link RingBuffer#addGatingSequences(Sequence...)}
+     * called before the work pool is started.
+     *
+     * @param ringBuffer       of events to be consumed.
+     * @param sequenceBarrier  on which the workers will depend.
+     * @param exceptionHandler to callback when an error occurs which is not handled by the {@link WorkHandler}s.
+     * @param maxBatchSize     the maximum number of sequences a worker claims at a time.
+     * @param workHandlers     to distribute the work load across.
+     * @throws IllegalArgumentException if maxBatchSize is less than 1
+     * @see WorkProcessor
+     */
+    @SafeVarargs
+    public WorkerPool(
+        final RingBuffer<T> ringBuffer,
+        final SequenceBarrier sequenceBarrier,
+        final ExceptionHandler<? super T> exceptionHandler,
+        final int maxBatchSize,
+        final WorkHandler<? super T>... workHandlers)
     {
         this.ringBuffer = ringBuffer;
         final int numWorkers = workHandlers.length;
@@ -63,7 +89,8 @@ public final class WorkerPool<T>
                 sequenceBarrier,
                 workHandlers[i],
                 exceptionHandler,
-                workSequence);
+                workSequence,
+                maxBatchSize);
         }
     }
 
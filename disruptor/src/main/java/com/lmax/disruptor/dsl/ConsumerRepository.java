@@ -18,6 +18,7 @@ package com.lmax.disruptor.dsl;
 import com.lmax.disruptor.*;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Provides a repository mechanism to associate {@link EventHandler}s with {@link EventProcessor}s
@@ -30,9 +31,10 @@ class ConsumerRepository<T> implements Iterable<ConsumerInfo>
         new IdentityHashMap<>();
     private final Map<Sequence, ConsumerInfo> eventProcessorInfoBySequence =
         new IdentityHashMap<>();
-    private final Collection<ConsumerInfo> consumerInfos = new ArrayList<>();
+    // Iterated by halt and shutdown while event handlers may be added or removed
+    private final Collection<ConsumerInfo> consumerInfos = new CopyOnWriteArrayList<>();
 
-    public void add(
+    public EventProcessorInfo<T> add(
         final EventProcessor eventprocessor,
         final EventHandler<? super T> handler,
         final SequenceBarrier barrier)
@@ -41,6 +43,14 @@ class ConsumerRepository<T> implements Iterable<ConsumerInfo>
         eventProcessorInfoByEventHandler.put(handler, consumerInfo);
         eventProcessorInfoBySequence.put(eventprocessor.getSequence(), consumerInfo);
         consumerInfos.add(consumerInfo);
+        return consumerInfo;
+    }
+
+    public void remove(final EventProcessorInfo<T> consumerInfo)
+    {
+        eventProcessorInfoByEventHandler.remove(consumerInfo.getHandler());
+        eventProcessorInfoBySequence.remove(consumerInfo.getEventProcessor().getSequence());
+        consumerInfos.remove(consumerInfo);
     }
 
     public void add(final EventProcessor processor)
@@ -76,6 +86,11 @@ class ConsumerRepository<T> implements Iterable<ConsumerInfo>
     }
 
     public EventProcessor getEventProcessorFor(final EventHandler<T> handler)
+    {
+        return getEventProcessorInfoFor(handler).getEventProcessor();
+    }
+
+    public EventProcessorInfo<T> getEventProcessorInfoFor(final EventHandler<? super T> handler)
     {
         final EventProcessorInfo<T> eventprocessorInfo = getEventProcessorInfo(handler);
         if (eventprocessorInfo == null)
@@ -83,7 +98,7 @@ class ConsumerRepository<T> implements Iterable<ConsumerInfo>
             throw new IllegalArgumentException("The event handler " + handler + " is not processing events.");
         }
 
-        return eventprocessorInfo.getEventProcessor();
+        return eventprocessorInfo;
     }
 
     public Sequence getSequenceFor(final EventHandler<T> handler)
@@ -111,7 +126,7 @@ class ConsumerRepository<T> implements Iterable<ConsumerInfo>
         return consumerInfo != null ? consumerInfo.getBarrier() : null;
     }
 
-    private EventProcessorInfo<T> getEventProcessorInfo(final EventHandler<T> handler)
+    private EventProcessorInfo<T> getEventProcessorInfo(final EventHandler<? super T> handler)
     {
         return eventProcessorInfoByEventHandler.get(handler);
     }
@@ -18,12 +18,14 @@ package com.lmax.disruptor.dsl;
 import com.lmax.disruptor.BatchEventProcessor;
 import com.lmax.disruptor.EventFactory;
 import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventPoller;
 import com.lmax.disruptor.EventProcessor;
 import com.lmax.disruptor.EventTranslator;
 import com.lmax.disruptor.EventTranslatorOneArg;
 import com.lmax.disruptor.EventTranslatorThreeArg;
 import com.lmax.disruptor.EventTranslatorTwoArg;
 import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.MultiBufferBatchEventProcessor;
 import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.Sequence;
 import com.lmax.disruptor.SequenceBarrier;
@@ -33,6 +35,8 @@ import com.lmax.disruptor.WorkHandler;
 import com.lmax.disruptor.WorkerPool;
 import com.lmax.disruptor.util.Util;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -63,6 +67,7 @@ public class Disruptor<T>
     private final ConsumerRepository<T> consumerRepository = new ConsumerRepository<>();
     private final AtomicBoolean started = new AtomicBoolean(false);
     private ExceptionHandler<? super T> exceptionHandler = new ExceptionHandlerWrapper<>();
+    private DisruptorMetrics metrics;
 
     /**
      * Create a new Disruptor. Will default to {@link com.lmax.disruptor.BlockingWaitStrategy} and
@@ -221,6 +226,141 @@ public class Disruptor<T>
     }
 
 
+    /**
+     * <p>Add an event handler to a running Disruptor.  The handler is run by a new {@link BatchEventProcessor},
+     * started on this Disruptor's executor, which processes the events published after the current cursor.
+     * It gates producers like any other handler until it is removed with {@link #removeEventHandler(EventHandler)}.</p>
+     *
+     * <p>The handler does not depend on other handlers.  Use {@link #handleEventsWith(EventHandler[])} to set up
+     * handlers before the Disruptor is started.  Handlers should be added and removed from one thread at a time.</p>
+     *
+     * @param handler the event handler that will process events.
+     * @throws IllegalStateException if the Disruptor has not been started.
+     */
+    public void addEventHandler(final EventHandler<? super T> handler)
+    {
+        if (!started.get())
+        {
+            throw new IllegalStateException("Event handlers can only be added to a Disruptor once it has started.");
+        }
+
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+        final BatchEventProcessor<T> batchEventProcessor = new BatchEventProcessor<>(ringBuffer, barrier, handler);
+
+        if (exceptionHandler != null)
+        {
+            batchEventProcessor.setExceptionHandler(exceptionHandler);
+        }
+
+        // Moves the processor's sequence up to the cursor, as it is added, so no slot it is yet to process is reused
+        ringBuffer.addGatingSequences(batchEventProcessor.getSequence());
+
+        final EventProcessorInfo<T> consumerInfo = consumerRepository.add(batchEventProcessor, handler, barrier);
+        if (metrics != null)
+        {
+            metrics.addConsumer(consumerInfo);
+        }
+        consumerInfo.start(executor);
+    }
+
+    /**
+     * <p>Remove an event handler from a running Disruptor.  The handler first processes the events published
+     * before this call; its processor is then halted and stops gating producers.  This method blocks until
+     * the processor has stopped.</p>
+     *
+     * <p>Only handlers run by a {@link BatchEventProcessor} that no other handler depends on may be removed.</p>
+     *
+     * @param handler the event handler to remove.
+     * @throws IllegalArgumentException if the handler is not processing events, or other handlers depend on it.
+     */
+    public void removeEventHandler(final EventHandler<? super T> handler)
+    {
+        final EventProcessorInfo<T> consumerInfo = consumerRepository.getEventProcessorInfoFor(handler);
+        final EventProcessor eventProcessor = consumerInfo.getEventProcessor();
+        if (!(eventProcessor instanceof BatchEventProcessor))
+        {
+            throw new IllegalArgumentException(
+                "EventProcessor: " + eventProcessor + " is not a BatchEventProcessor and cannot be removed");
+        }
+        if (!consumerInfo.isEndOfChain())
+        {
+            throw new IllegalArgumentException("The event handler " + handler + " has dependent event handlers.");
+        }
+
+        final Sequence sequence = eventProcessor.getSequence();
+        final long cursor = ringBuffer.getCursor();
+
+        // Wait for the executor to run the processor: halted before it starts, it would skip the events
+        // before the cursor, and exit without ever reporting that it is no longer running
+        while (!consumerInfo.hasStarted())
+        {
+            Thread.yield();
+        }
+
+        while (!consumerInfo.hasStopped() && sequence.get() < cursor)
+        {
+            Thread.yield();
+        }
+
+        eventProcessor.halt();
+        while (!consumerInfo.hasStopped())
+        {
+            Thread.yield();
+        }
+
+        ringBuffer.removeGatingSequence(sequence);
+        consumerRepository.remove(consumerInfo);
+        if (metrics != null)
+        {
+            metrics.removeConsumer(consumerInfo);
+        }
+    }
+
+    /**
+     * <p>Set up an event handler to process the events of this Disruptor's ring buffer and of other ring buffers
+     * on a single thread, taking at most <code>maxBatchSize</code> events from each in turn.  The Disruptor will
+     * automatically start the processor when {@link #start()} is called.</p>
+     *
+     * <p>The other ring buffers are gated on the processor but are not otherwise managed by this Disruptor;
+     * {@link #shutdown()} only waits for the events of this Disruptor's ring buffer to be processed.</p>
+     *
+     * @param handler      the event handler that will process events.
+     * @param maxBatchSize the maximum number of events to process from one ring buffer before moving to the next.
+     * @param ringBuffers  the other ring buffers whose events the handler will process.
+     * @return a {@link EventHandlerGroup} that can be used to chain dependencies on this Disruptor's ring buffer.
+     * @see MultiBufferBatchEventProcessor
+     */
+    @SafeVarargs
+    public final EventHandlerGroup<T> handleEventsWithFanIn(
+        final EventHandler<? super T> handler, final int maxBatchSize, final RingBuffer<T>... ringBuffers)
+    {
+        checkNotStarted();
+
+        final List<EventPoller<T>> pollers = new ArrayList<>(ringBuffers.length + 1);
+        pollers.add(ringBuffer.newPoller());
+        for (final RingBuffer<T> otherRingBuffer : ringBuffers)
+        {
+            final EventPoller<T> poller = otherRingBuffer.newPoller();
+            otherRingBuffer.addGatingSequences(poller.getSequence());
+            pollers.add(poller);
+        }
+
+        final MultiBufferBatchEventProcessor<T> processor =
+            new MultiBufferBatchEventProcessor<>(handler, maxBatchSize, pollers);
+
+        if (exceptionHandler != null)
+        {
+            processor.setExceptionHandler(exceptionHandler);
+        }
+
+        consumerRepository.add(processor, handler, null);
+
+        final Sequence[] processorSequences = {processor.getSequence()};
+        updateGatingSequencesForNextInChain(new Sequence[0], processorSequences);
+
+        return new EventHandlerGroup<>(this, consumerRepository, processorSequences);
+    }
+
     /**
      * Set up a {@link WorkerPool} to distribute an event to one of a pool of work handler threads.
      * Each event will only be processed by one of the work handlers.
@@ -232,7 +372,31 @@ public class Disruptor<T>
     @SafeVarargs 
     public final EventHandlerGroup<T> handleEventsWithWorkerPool(final WorkHandler<T>... workHandlers)
     {
-        return createWorkerPool(new Sequence[0], workHandlers);
+        return createWorkerPool(new Sequence[0], 1, workHandlers);
+    }
+
+    /**
+     * Set up a {@link WorkerPool} to distribute an event to one of a pool of work handler threads, each of which
+     * claims up to <code>maxBatchSize</code> published events at a time.
+     * Each event will only be processed by one of the work handlers.
+     * The Disruptor will automatically start this processors when {@link #start()} is called.
+     *
+     * @param maxBatchSize the maximum number of events a work handler claims at a time.
+     * @param workHandlers the work handlers that will process events.
+     * @return a {@link EventHandlerGroup} that can be used to chain dependencies.
+     * @see WorkerPool#WorkerPool(RingBuffer, SequenceBarrier, ExceptionHandler, int, WorkHandler[])
+     */
+    @SafeVarargs
+    public final EventHandlerGroup<T> handleEventsWithWorkerPool(final int maxBatchSize, final WorkHandler<T>... workHandlers)
+    {
+        @SuppressWarnings("unchecked")
+        final WorkHandler<? super T>[] handlers = (WorkHandler<? super T>[]) new WorkHandler<?>[workHandlers.length];
+        for (int i = 0; i < workHandlers.length; i++)
+        {
+            handlers[i] = workHandlers[i];
+        }
+
+        return createWorkerPool(new Sequence[0], maxBatchSize, handlers);
     }
 
     /**
@@ -382,6 +546,26 @@ public class Disruptor<T>
         ringBuffer.publishEvent(eventTranslator, arg0, arg1, arg2);
     }
 
+    /**
+     * <p>Record the lag of each consumer, the batch sizes of each event handler and the time producers wait
+     * for capacity.  The returned metrics cover the consumers set up when {@link #start()} is called, and may be
+     * registered with an MBeanServer.  Without metrics none of these are recorded.</p>
+     *
+     * <p>This method must be called before the Disruptor is started.</p>
+     *
+     * @return the metrics of this Disruptor.
+     */
+    public DisruptorMetrics enableMetrics()
+    {
+        checkNotStarted();
+        if (metrics == null)
+        {
+            metrics = new DisruptorMetrics(ringBuffer);
+        }
+
+        return metrics;
+    }
+
     /**
      * <p>Starts the event processors and returns the fully configured ring buffer.</p>
      *
@@ -397,6 +581,10 @@ public class Disruptor<T>
         checkOnlyStartedOnce();
         for (final ConsumerInfo consumerInfo : consumerRepository)
         {
+            if (metrics != null)
+            {
+                metrics.addConsumer(consumerInfo);
+            }
             consumerInfo.start(executor);
         }
 
@@ -599,9 +787,15 @@ public class Disruptor<T>
 
     EventHandlerGroup<T> createWorkerPool(
         final Sequence[] barrierSequences, final WorkHandler<? super T>[] workHandlers)
+    {
+        return createWorkerPool(barrierSequences, 1, workHandlers);
+    }
+
+    EventHandlerGroup<T> createWorkerPool(
+        final Sequence[] barrierSequences, final int maxBatchSize, final WorkHandler<? super T>[] workHandlers)
     {
         final SequenceBarrier sequenceBarrier = ringBuffer.newBarrier(barrierSequences);
-        final WorkerPool<T> workerPool = new WorkerPool<>(ringBuffer, sequenceBarrier, exceptionHandler, workHandlers);
+        final WorkerPool<T> workerPool = new WorkerPool<>(ringBuffer, sequenceBarrier, exceptionHandler, maxBatchSize, workHandlers);
 
 
         consumerRepository.add(workerPool, sequenceBarrier);
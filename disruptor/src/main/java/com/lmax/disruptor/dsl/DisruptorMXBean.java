@@ -0,0 +1,64 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.dsl;
+
+import java.util.Map;
+
+/**
+ * The JMX management interface of the metrics of a {@link Disruptor}.
+ *
+ * @see Disruptor#enableMetrics()
+ */
+public interface DisruptorMXBean
+{
+    /**
+     * @return the current cursor of the ring buffer.
+     */
+    long getCursor();
+
+    /**
+     * @return the size of the ring buffer.
+     */
+    int getBufferSize();
+
+    /**
+     * @return the number of slots producers may claim before waiting for the consumers.
+     */
+    long getRemainingCapacity();
+
+    /**
+     * @return by consumer, the number of published events it has yet to process.
+     */
+    Map<String, Long> getConsumerLag();
+
+    /**
+     * @return by event handler, the number of batches of each size, see {@link #getBatchSizeUpperBounds()}.
+     */
+    Map<String, long[]> getBatchSizeCounts();
+
+    /**
+     * @return the largest batch size counted in each element of the arrays of {@link #getBatchSizeCounts()}.
+     */
+    long[] getBatchSizeUpperBounds();
+
+    /**
+     * @return the number of claims in which a producer waited for capacity.
+     */
+    long getProducerStallCount();
+
+    /**
+     * @return the total time producers have waited for capacity, in nanoseconds.
+     */
+    long getProducerStallNanos();
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.dsl;
+
+import com.lmax.disruptor.BatchEventProcessor;
+import com.lmax.disruptor.BatchSizeHistogram;
+import com.lmax.disruptor.EventProcessor;
+import com.lmax.disruptor.ProducerStallStats;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.util.Util;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Metrics of a {@link Disruptor}: how far each consumer trails the cursor, the sizes of the batches
+ * processed by each event handler and the time producers have waited for capacity.</p>
+ *
+ * <p>Consumer lag is computed from the sequences when read, and batch sizes and producer stalls are only
+ * recorded once metrics are enabled, so a Disruptor without metrics pays nothing for them.  The metrics are
+ * an MXBean, and may be registered with an MBeanServer:</p>
+ * <pre>
+ * <code>ManagementFactory.getPlatformMBeanServer().registerMBean(disruptor.enableMetrics(), new ObjectName(...));</code>
+ * </pre>
+ *
+ * @see Disruptor#enableMetrics()
+ */
+public final class DisruptorMetrics implements DisruptorMXBean
+{
+    private final RingBuffer<?> ringBuffer;
+    private final ProducerStallStats producerStallStats;
+    private final List<ConsumerMetrics> consumers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger consumerCount = new AtomicInteger();
+
+    DisruptorMetrics(final RingBuffer<?> ringBuffer)
+    {
+        this.ringBuffer = ringBuffer;
+        this.producerStallStats = ringBuffer.recordProducerStalls();
+    }
+
+    /**
+     * Start recording the metrics of a consumer, attaching a histogram to a {@link BatchEventProcessor}.
+     */
+    void addConsumer(final ConsumerInfo consumerInfo)
+    {
+        String name = null;
+        BatchSizeHistogram histogram = null;
+        if (consumerInfo instanceof EventProcessorInfo)
+        {
+            final EventProcessorInfo<?> eventProcessorInfo = (EventProcessorInfo<?>) consumerInfo;
+            final EventProcessor eventProcessor = eventProcessorInfo.getEventProcessor();
+            if (eventProcessor instanceof BatchEventProcessor)
+            {
+                histogram = new BatchSizeHistogram();
+                ((BatchEventProcessor<?>) eventProcessor).setBatchSizeHistogram(histogram);
+            }
+            name = String.valueOf(eventProcessorInfo.getHandler() != null ? eventProcessorInfo.getHandler() : eventProcessor);
+        }
+        else if (consumerInfo instanceof WorkerPoolInfo)
+        {
+            name = String.valueOf(((WorkerPoolInfo<?>) consumerInfo).getWorkerPool());
+        }
+
+        consumers.add(new ConsumerMetrics(consumerCount.getAndIncrement() + ":" + name, consumerInfo, histogram));
+    }
+
+    /**
+     * Stop reporting the metrics of a consumer that has been removed.
+     */
+    void removeConsumer(final ConsumerInfo consumerInfo)
+    {
+        consumers.removeIf(consumer -> consumer.consumerInfo == consumerInfo);
+    }
+
+    @Override
+    public long getCursor()
+    {
+        return ringBuffer.getCursor();
+    }
+
+    @Override
+    public int getBufferSize()
+    {
+        return ringBuffer.getBufferSize();
+    }
+
+    @Override
+    public long getRemainingCapacity()
+    {
+        return ringBuffer.remainingCapacity();
+    }
+
+    @Override
+    public Map<String, Long> getConsumerLag()
+    {
+        final long cursor = ringBuffer.getCursor();
+        final Map<String, Long> lag = new LinkedHashMap<>();
+        for (final ConsumerMetrics consumer : consumers)
+        {
+            lag.put(consumer.name, cursor - Util.getMinimumSequence(consumer.consumerInfo.getSequences(), cursor));
+        }
+
+        return lag;
+    }
+
+    @Override
+    public Map<String, long[]> getBatchSizeCounts()
+    {
+        final Map<String, long[]> counts = new LinkedHashMap<>();
+        for (final ConsumerMetrics consumer : consumers)
+        {
+            if (consumer.histogram != null)
+            {
+                counts.put(consumer.name, consumer.histogram.getCounts());
+            }
+        }
+
+        return counts;
+    }
+
+    @Override
+    public long[] getBatchSizeUpperBounds()
+    {
+        return BatchSizeHistogram.getUpperBounds();
+    }
+
+    @Override
+    public long getProducerStallCount()
+    {
+        return producerStallStats.getStallCount();
+    }
+
+    @Override
+    public long getProducerStallNanos()
+    {
+        return producerStallStats.getStallNanos();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DisruptorMetrics{" +
+            "cursor=" + getCursor() +
+            ", consumerLag=" + getConsumerLag() +
+            ", producerStallStats=" + producerStallStats +
+            '}';
+    }
+
+    private static final class ConsumerMetrics
+    {
+        private final String name;
+        private final ConsumerInfo consumerInfo;
+        private final BatchSizeHistogram histogram;
+
+        ConsumerMetrics(final String name, final ConsumerInfo consumerInfo, final BatchSizeHistogram histogram)
+        {
+            this.name = name;
+            this.consumerInfo = consumerInfo;
+            this.histogram = histogram;
+        }
+    }
+}
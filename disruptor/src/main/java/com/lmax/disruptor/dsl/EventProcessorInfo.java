@@ -35,6 +35,8 @@ class EventProcessorInfo<T> implements ConsumerInfo
     private final EventHandler<? super T> handler;
     private final SequenceBarrier barrier;
     private boolean endOfChain = true;
+    private volatile boolean started;
+    private volatile boolean stopped;
 
     EventProcessorInfo(
         final EventProcessor eventprocessor, final EventHandler<? super T> handler, final SequenceBarrier barrier)
@@ -75,7 +77,34 @@ class EventProcessorInfo<T> implements ConsumerInfo
     @Override
     public void start(final Executor executor)
     {
-        executor.execute(eventprocessor);
+        executor.execute(() ->
+        {
+            started = true;
+            try
+            {
+                eventprocessor.run();
+            }
+            finally
+            {
+                stopped = true;
+            }
+        });
+    }
+
+    /**
+     * @return true once the executor has begun running the event processor.
+     */
+    boolean hasStarted()
+    {
+        return started;
+    }
+
+    /**
+     * @return true once the event processor has returned from running, whether halted or failed.
+     */
+    boolean hasStopped()
+    {
+        return stopped;
     }
 
     @Override
@@ -16,6 +16,11 @@ class WorkerPoolInfo<T> implements ConsumerInfo
         this.sequenceBarrier = sequenceBarrier;
     }
 
+    WorkerPool<T> getWorkerPool()
+    {
+        return workerPool;
+    }
+
     @Override
     public Sequence[] getSequences()
     {
@@ -0,0 +1,213 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.flow;
+
+import com.lmax.disruptor.AlertException;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.Sequencer;
+import com.lmax.disruptor.TimeoutException;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>A {@link Flow.Publisher} of the events published to a {@link RingBuffer}.</p>
+ *
+ * <p>Each subscription has a thread of its own and a {@link Sequence} that gates the ring buffer, like any
+ * other consumer.  The subscription delivers every event available, up to the outstanding demand, before
+ * advancing its sequence once for the batch; without demand it does not advance, so a subscriber that falls
+ * behind holds back the producers rather than having events buffered or dropped for it.</p>
+ *
+ * <p>Subscribers are passed the preallocated events of the ring buffer, which are reused once
+ * {@link Flow.Subscriber#onNext(Object)} returns, so a subscriber must copy any event it keeps.  A
+ * subscription receives the events published after {@link #subscribe(Flow.Subscriber)} returns and, as a
+ * ring buffer has no end, it is never completed; {@link Flow.Subscription#cancel()} releases its sequence.</p>
+ *
+ * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+public final class RingBufferPublisher<T> implements Flow.Publisher<T>
+{
+    private final RingBuffer<T> ringBuffer;
+    private final ThreadFactory threadFactory;
+
+    /**
+     * @param ringBuffer    to publish the events of.
+     * @param threadFactory to create a thread for each subscription.
+     */
+    public RingBufferPublisher(final RingBuffer<T> ringBuffer, final ThreadFactory threadFactory)
+    {
+        this.ringBuffer = ringBuffer;
+        this.threadFactory = threadFactory;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super T> subscriber)
+    {
+        if (null == subscriber)
+        {
+            throw new NullPointerException();
+        }
+
+        final RingBufferSubscription<T> subscription = new RingBufferSubscription<>(ringBuffer, subscriber);
+        ringBuffer.addGatingSequences(subscription.sequence);
+
+        final Thread thread = threadFactory.newThread(subscription);
+        if (null == thread)
+        {
+            ringBuffer.removeGatingSequence(subscription.sequence);
+            subscriber.onSubscribe(subscription);
+            subscriber.onError(new IllegalStateException("Failed to create thread to run: " + subscription));
+            return;
+        }
+
+        thread.start();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "RingBufferPublisher{" +
+            "ringBuffer=" + ringBuffer +
+            '}';
+    }
+
+    private static final class RingBufferSubscription<T> implements Flow.Subscription, Runnable
+    {
+        private final RingBuffer<T> ringBuffer;
+        private final Flow.Subscriber<? super T> subscriber;
+        private final SequenceBarrier sequenceBarrier;
+        private final Sequence sequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+        private final AtomicLong requested = new AtomicLong();
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+        private volatile Thread thread;
+
+        RingBufferSubscription(final RingBuffer<T> ringBuffer, final Flow.Subscriber<? super T> subscriber)
+        {
+            this.ringBuffer = ringBuffer;
+            this.subscriber = subscriber;
+            this.sequenceBarrier = ringBuffer.newBarrier();
+        }
+
+        @Override
+        public void request(final long n)
+        {
+            if (n <= 0)
+            {
+                error = new IllegalArgumentException("Subscriber requested " + n + " events, demand must be positive");
+                cancel();
+                return;
+            }
+
+            long current;
+            long next;
+            do
+            {
+                current = requested.get();
+                next = current + n < 0 ? Long.MAX_VALUE : current + n;
+            }
+            while (!requested.compareAndSet(current, next));
+
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void cancel()
+        {
+            cancelled = true;
+            sequenceBarrier.alert();
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void run()
+        {
+            thread = Thread.currentThread();
+            try
+            {
+                subscriber.onSubscribe(this);
+                processEvents();
+            }
+            finally
+            {
+                ringBuffer.removeGatingSequence(sequence);
+            }
+
+            final Throwable error = this.error;
+            if (null != error)
+            {
+                subscriber.onError(error);
+            }
+        }
+
+        private void processEvents()
+        {
+            long nextSequence = sequence.get() + 1L;
+            while (!cancelled)
+            {
+                final long demand = requested.get();
+                if (demand == 0)
+                {
+                    LockSupport.park(this);
+                    continue;
+                }
+
+                try
+                {
+                    final long availableSequence = sequenceBarrier.waitFor(nextSequence);
+                    final long count = Math.min(availableSequence - nextSequence + 1L, demand);
+                    final long endSequence = nextSequence + count - 1L;
+                    while (nextSequence <= endSequence)
+                    {
+                        subscriber.onNext(ringBuffer.get(nextSequence));
+                        nextSequence++;
+                    }
+
+                    sequence.set(endSequence);
+                    if (demand != Long.MAX_VALUE)
+                    {
+                        requested.addAndGet(-count);
+                    }
+                }
+                catch (final TimeoutException | InterruptedException e)
+                {
+                    // Nothing published yet, check for cancellation and wait again
+                }
+                catch (final AlertException e)
+                {
+                    break;
+                }
+                catch (final RuntimeException e)
+                {
+                    // A subscriber may not throw from onNext, treat it as having cancelled
+                    cancelled = true;
+                }
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            return "RingBufferSubscription{" +
+                "subscriber=" + subscriber +
+                ", sequence=" + sequence +
+                ", requested=" + requested +
+                '}';
+        }
+    }
+}
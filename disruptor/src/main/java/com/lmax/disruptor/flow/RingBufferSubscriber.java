@@ -0,0 +1,176 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.flow;
+
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.RingBuffer;
+
+import java.util.concurrent.Flow;
+
+/**
+ * <p>A {@link Flow.Subscriber} that publishes each item it receives to a {@link RingBuffer}, translating it
+ * into a preallocated event.</p>
+ *
+ * <p>Demand follows the capacity of the ring buffer: the subscriber requests at most
+ * <code>maxRequest</code> items at a time, and never more than the ring buffer has room for, topping the
+ * demand up once half of it has been received.  Items are published with
+ * {@link RingBuffer#tryPublishEvent(EventTranslatorOneArg, Object)}; only if another producer has taken the
+ * capacity meanwhile does the subscriber wait for the consumers to release it.</p>
+ *
+ * <p>The upstream publisher is a producer of the ring buffer, which must be created for multiple producers
+ * unless it is the only one.  The ring buffer has no notion of completion, so the terminal signal is only
+ * recorded, see {@link #isComplete()} and {@link #getError()}.</p>
+ *
+ * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
+ * @param <I> type of the items received.
+ */
+public final class RingBufferSubscriber<T, I> implements Flow.Subscriber<I>
+{
+    private final RingBuffer<T> ringBuffer;
+    private final EventTranslatorOneArg<T, ? super I> translator;
+    private final int maxRequest;
+    private final int replenishThreshold;
+    private volatile Flow.Subscription subscription;
+    private long outstanding;
+    private volatile boolean complete;
+    private volatile Throwable error;
+
+    /**
+     * Subscribe with demand of up to the size of the ring buffer.
+     *
+     * @param ringBuffer to publish the items to.
+     * @param translator to write each item into an event.
+     */
+    public RingBufferSubscriber(final RingBuffer<T> ringBuffer, final EventTranslatorOneArg<T, ? super I> translator)
+    {
+        this(ringBuffer, translator, ringBuffer.getBufferSize());
+    }
+
+    /**
+     * @param ringBuffer to publish the items to.
+     * @param translator to write each item into an event.
+     * @param maxRequest the maximum number of items outstanding at once.
+     * @throws IllegalArgumentException if maxRequest is less than 1
+     */
+    public RingBufferSubscriber(
+        final RingBuffer<T> ringBuffer,
+        final EventTranslatorOneArg<T, ? super I> translator,
+        final int maxRequest)
+    {
+        if (maxRequest < 1)
+        {
+            throw new IllegalArgumentException("maxRequest must not be less than 1");
+        }
+
+        this.ringBuffer = ringBuffer;
+        this.translator = translator;
+        this.maxRequest = maxRequest;
+        this.replenishThreshold = maxRequest / 2;
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription)
+    {
+        if (null != this.subscription)
+        {
+            subscription.cancel();
+            return;
+        }
+
+        this.subscription = subscription;
+        replenish();
+    }
+
+    @Override
+    public void onNext(final I item)
+    {
+        if (!ringBuffer.tryPublishEvent(translator, item))
+        {
+            ringBuffer.publishEvent(translator, item);
+        }
+
+        outstanding--;
+        if (outstanding <= replenishThreshold)
+        {
+            replenish();
+        }
+    }
+
+    @Override
+    public void onError(final Throwable throwable)
+    {
+        error = throwable;
+    }
+
+    @Override
+    public void onComplete()
+    {
+        complete = true;
+    }
+
+    /**
+     * Stop receiving items from the upstream publisher.
+     */
+    public void cancel()
+    {
+        final Flow.Subscription subscription = this.subscription;
+        if (null != subscription)
+        {
+            subscription.cancel();
+        }
+    }
+
+    /**
+     * @return true if the upstream publisher has signalled that it is complete.
+     */
+    public boolean isComplete()
+    {
+        return complete;
+    }
+
+    /**
+     * @return the error signalled by the upstream publisher, or null if there has been none.
+     */
+    public Throwable getError()
+    {
+        return error;
+    }
+
+    private void replenish()
+    {
+        final long capacity = Math.min(maxRequest, ringBuffer.remainingCapacity());
+        long n = capacity - outstanding;
+        if (n <= 0 && outstanding == 0)
+        {
+            // The ring buffer is full, ask for one item and wait for capacity when it arrives
+            n = 1;
+        }
+
+        if (n > 0)
+        {
+            outstanding += n;
+            subscription.request(n);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "RingBufferSubscriber{" +
+            "ringBuffer=" + ringBuffer +
+            ", maxRequest=" + maxRequest +
+            ", outstanding=" + outstanding +
+            '}';
+    }
+}
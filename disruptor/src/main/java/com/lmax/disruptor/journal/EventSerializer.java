@@ -0,0 +1,40 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.journal;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts events to and from the records of a {@link Journal}.
+ *
+ * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+public interface EventSerializer<T>
+{
+    /**
+     * Write an event at the current position of the buffer, advancing the position past it.
+     *
+     * @param event  to write.
+     * @param buffer to write to; a {@link java.nio.BufferOverflowException} signals that the event does not fit.
+     */
+    void serialize(T event, ByteBuffer buffer);
+
+    /**
+     * Read an event written by {@link #serialize(Object, ByteBuffer)} into a preallocated event.
+     *
+     * @param buffer holding exactly the bytes of one event.
+     * @param event  to read into.
+     */
+    void deserialize(ByteBuffer buffer, T event);
+}
@@ -0,0 +1,404 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * <p>An append-only log of events, held in a directory of memory-mapped segment files.  Each record is
+ * given the next index, starting from 0 and continuing across restarts, and written as its length, a
+ * CRC32 of its payload, its index and the payload.  Segments are preallocated to a fixed size, named after
+ * the index of their first record, and a new one is started when a record does not fit in the current one.</p>
+ *
+ * <p>Records are only durable once {@link #commit()} has returned.  When the journal is reopened, it resumes
+ * after the last intact record, discarding any that were torn by a crash.</p>
+ *
+ * <p>Records are appended by a single thread, usually a {@link JournalingEventHandler}, but may be read by
+ * any thread.</p>
+ */
+public final class Journal implements Closeable
+{
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int HEADER_SIZE = 16;
+    private static final int LENGTH_OFFSET = 0;
+    private static final int CHECKSUM_OFFSET = 4;
+    private static final int INDEX_OFFSET = 8;
+    private static final int PAGE_SIZE = 4096;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long firstIndex;
+    private final CRC32 checksum = new CRC32();
+    private volatile long nextIndex;
+    private volatile long replayedSequence = -1L;
+
+    private MappedByteBuffer segment;
+    private ByteBuffer writeBuffer;
+    private int position;
+    private boolean uncommitted;
+
+    /**
+     * Callback for records read from the journal.
+     */
+    public interface RecordHandler
+    {
+        /**
+         * @param index   of the record.
+         * @param payload the bytes written by the {@link EventSerializer}, between the position and limit.
+         */
+        void onRecord(long index, ByteBuffer payload);
+    }
+
+    private Journal(final Path directory, final int segmentSize) throws IOException
+    {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+
+        final List<Long> segments = listSegments(directory);
+        if (segments.isEmpty())
+        {
+            firstIndex = 0L;
+            nextIndex = 0L;
+            startSegment(0L);
+        }
+        else
+        {
+            firstIndex = segments.get(0);
+            recover(segments.get(segments.size() - 1));
+        }
+    }
+
+    /**
+     * Open, or create, the journal in a directory.
+     *
+     * @param directory   holding the segment files, created if it does not exist.
+     * @param segmentSize size in bytes of new segment files.
+     * @return the journal, positioned to append after its last intact record.
+     * @throws IOException              if the directory or a segment cannot be read, created or mapped.
+     * @throws IllegalArgumentException if segmentSize is not a positive multiple of {@value #PAGE_SIZE}.
+     */
+    public static Journal open(final Path directory, final int segmentSize) throws IOException
+    {
+        if (segmentSize < PAGE_SIZE || segmentSize % PAGE_SIZE != 0)
+        {
+            throw new IllegalArgumentException("segmentSize must be a positive multiple of " + PAGE_SIZE);
+        }
+
+        Files.createDirectories(directory);
+        return new Journal(directory, segmentSize);
+    }
+
+    /**
+     * Append an event to the journal.  It is not durable until {@link #commit()} is called.
+     *
+     * @param event      to append.
+     * @param serializer to write the event with.
+     * @param <T>        the type of the event.
+     * @return the index of the record.
+     * @throws IOException              if a new segment cannot be created.
+     * @throws IllegalArgumentException if the event is empty, or does not fit in an empty segment.
+     */
+    public <T> long append(final T event, final EventSerializer<? super T> serializer) throws IOException
+    {
+        int length = serialize(event, serializer);
+        if (length < 0 && position != 0)
+        {
+            startSegment(nextIndex);
+            length = serialize(event, serializer);
+        }
+        if (length < 0)
+        {
+            throw new IllegalArgumentException("Event " + event + " does not fit in a segment of " + segmentSize + " bytes");
+        }
+
+        final long index = nextIndex;
+        writeBuffer.limit(position + HEADER_SIZE + length).position(position + HEADER_SIZE);
+        checksum.reset();
+        checksum.update(writeBuffer);
+
+        segment.putLong(position + INDEX_OFFSET, index);
+        segment.putInt(position + CHECKSUM_OFFSET, (int) checksum.getValue());
+        segment.putInt(position + LENGTH_OFFSET, length);
+
+        position += align(HEADER_SIZE + length);
+        uncommitted = true;
+        nextIndex = index + 1;
+
+        return index;
+    }
+
+    /**
+     * Force the records appended since the last commit to the storage device.
+     */
+    public void commit()
+    {
+        if (uncommitted)
+        {
+            segment.force();
+            uncommitted = false;
+        }
+    }
+
+    /**
+     * Read a range of records, in order.
+     *
+     * @param fromIndex of the first record to read.
+     * @param toIndex   of the last record to read, inclusive; may be beyond the last record.
+     * @param handler   to call back with each record.
+     * @return the number of records read.
+     * @throws IOException if a segment cannot be read.
+     */
+    public long read(final long fromIndex, final long toIndex, final RecordHandler handler) throws IOException
+    {
+        final long lastIndex = Math.min(toIndex, nextIndex - 1);
+        final List<Long> segments = listSegments(directory);
+        long count = 0;
+
+        for (int i = 0; i < segments.size(); i++)
+        {
+            final long segmentStart = segments.get(i);
+            final long segmentEnd = i + 1 < segments.size() ? segments.get(i + 1) - 1 : lastIndex;
+            if (segmentEnd < fromIndex)
+            {
+                continue;
+            }
+            if (segmentStart > lastIndex)
+            {
+                break;
+            }
+
+            final ByteBuffer buffer = map(segmentStart, FileChannel.MapMode.READ_ONLY, 0);
+            final ByteBuffer payload = buffer.duplicate();
+            final CRC32 readChecksum = new CRC32();
+            int recordPosition = 0;
+            for (long index = segmentStart; index <= Math.min(segmentEnd, lastIndex); index++)
+            {
+                final int length = recordLength(buffer, recordPosition, index, readChecksum);
+                if (length < 0)
+                {
+                    throw new IOException("Journal record " + index + " in " + segmentPath(segmentStart) + " is corrupt");
+                }
+
+                if (index >= fromIndex)
+                {
+                    payload.limit(recordPosition + HEADER_SIZE + length).position(recordPosition + HEADER_SIZE);
+                    handler.onRecord(index, payload);
+                    count++;
+                }
+                recordPosition += align(HEADER_SIZE + length);
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * @return the index of the first record held, which is 0 unless older segments have been deleted.
+     */
+    public long getFirstIndex()
+    {
+        return firstIndex;
+    }
+
+    /**
+     * @return the index of the last record appended, or one less than {@link #getFirstIndex()} if there is none.
+     */
+    public long getLastIndex()
+    {
+        return nextIndex - 1;
+    }
+
+    /**
+     * Commit any records appended since the last commit.  Appending to a closed journal is not possible.
+     */
+    @Override
+    public void close()
+    {
+        commit();
+        segment = null;
+        writeBuffer = null;
+    }
+
+    /**
+     * Record that the events up to a ring buffer sequence are being republished from this journal,
+     * so are not to be appended again.
+     */
+    void markReplayed(final long sequence)
+    {
+        replayedSequence = sequence;
+    }
+
+    boolean isReplayed(final long sequence)
+    {
+        return sequence <= replayedSequence;
+    }
+
+    private <T> int serialize(final T event, final EventSerializer<? super T> serializer)
+    {
+        if (position + HEADER_SIZE >= writeBuffer.capacity())
+        {
+            return -1;
+        }
+
+        writeBuffer.limit(writeBuffer.capacity()).position(position + HEADER_SIZE);
+        try
+        {
+            serializer.serialize(event, writeBuffer);
+        }
+        catch (final BufferOverflowException e)
+        {
+            return -1;
+        }
+
+        final int length = writeBuffer.position() - position - HEADER_SIZE;
+        if (length == 0)
+        {
+            throw new IllegalArgumentException("EventSerializer wrote nothing for event " + event);
+        }
+
+        return length;
+    }
+
+    private void startSegment(final long segmentStart) throws IOException
+    {
+        commit();
+
+        try (FileChannel channel = FileChannel.open(
+            segmentPath(segmentStart), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+
+        // Touch every page now, rather than fault them in while appending
+        for (int i = 0; i < segmentSize; i += PAGE_SIZE)
+        {
+            segment.put(i, (byte) 0);
+        }
+
+        writeBuffer = segment.duplicate();
+        position = 0;
+    }
+
+    private void recover(final long segmentStart) throws IOException
+    {
+        // A crash while starting a segment may leave it shorter than a full segment, even empty, so extend it
+        segment = (MappedByteBuffer) map(segmentStart, FileChannel.MapMode.READ_WRITE, segmentSize);
+        writeBuffer = segment.duplicate();
+
+        long index = segmentStart;
+        int length;
+        while ((length = recordLength(segment, position, index, checksum)) >= 0)
+        {
+            position += align(HEADER_SIZE + length);
+            index++;
+        }
+        nextIndex = index;
+
+        // Clear whatever a crash left after the last intact record, so it is never mistaken for a record
+        for (int i = position; i + Long.BYTES <= segment.capacity(); i += Long.BYTES)
+        {
+            if (segment.getLong(i) != 0L)
+            {
+                segment.putLong(i, 0L);
+            }
+        }
+        segment.force();
+    }
+
+    private ByteBuffer map(final long segmentStart, final FileChannel.MapMode mode, final long minimumSize) throws IOException
+    {
+        final StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY ?
+            new StandardOpenOption[]{StandardOpenOption.READ} :
+            new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+
+        try (FileChannel channel = FileChannel.open(segmentPath(segmentStart), options))
+        {
+            return channel.map(mode, 0, Math.max(channel.size(), minimumSize));
+        }
+    }
+
+    /**
+     * @return the payload length of the record at the position if it is intact and has the expected index, otherwise -1.
+     */
+    private static int recordLength(final ByteBuffer buffer, final int position, final long index, final CRC32 checksum)
+    {
+        if (position + HEADER_SIZE > buffer.capacity())
+        {
+            return -1;
+        }
+
+        final int length = buffer.getInt(position + LENGTH_OFFSET);
+        if (length <= 0 || length > buffer.capacity() - position - HEADER_SIZE ||
+            buffer.getLong(position + INDEX_OFFSET) != index)
+        {
+            return -1;
+        }
+
+        final ByteBuffer payload = buffer.duplicate();
+        payload.limit(position + HEADER_SIZE + length).position(position + HEADER_SIZE);
+        checksum.reset();
+        checksum.update(payload);
+
+        return (int) checksum.getValue() == buffer.getInt(position + CHECKSUM_OFFSET) ? length : -1;
+    }
+
+    private Path segmentPath(final long segmentStart)
+    {
+        return directory.resolve(String.format("%020d%s", segmentStart, SEGMENT_SUFFIX));
+    }
+
+    private static List<Long> listSegments(final Path directory) throws IOException
+    {
+        final List<Long> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX))
+        {
+            for (final Path file : files)
+            {
+                final String name = file.getFileName().toString();
+                segments.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        Collections.sort(segments);
+
+        return segments;
+    }
+
+    private static int align(final int size)
+    {
+        return (size + 7) & ~7;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Journal{" +
+            "directory=" + directory +
+            ", firstIndex=" + firstIndex +
+            ", lastIndex=" + getLastIndex() +
+            '}';
+    }
+}
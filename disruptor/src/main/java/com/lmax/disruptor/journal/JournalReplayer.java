@@ -0,0 +1,82 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.journal;
+
+import java.io.IOException;
+
+import com.lmax.disruptor.RingBuffer;
+
+/**
+ * <p>Republishes the records of a {@link Journal} into a {@link RingBuffer}, to rebuild the state of its
+ * consumers at startup.</p>
+ *
+ * <p>Replay must be complete before any other producer publishes to the ring buffer.  A
+ * {@link JournalingEventHandler} for the same journal skips the events replayed, so they are not
+ * appended a second time, and journals live events after them with the indices that follow.</p>
+ *
+ * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+public final class JournalReplayer<T>
+{
+    private final Journal journal;
+    private final EventSerializer<T> serializer;
+
+    /**
+     * @param journal    to read records from.
+     * @param serializer to read events with.
+     */
+    public JournalReplayer(final Journal journal, final EventSerializer<T> serializer)
+    {
+        this.journal = journal;
+        this.serializer = serializer;
+    }
+
+    /**
+     * Replay every record in the journal.
+     *
+     * @param ringBuffer to publish to.
+     * @return the number of events published.
+     * @throws IOException if the journal cannot be read.
+     */
+    public long replay(final RingBuffer<T> ringBuffer) throws IOException
+    {
+        return replay(ringBuffer, journal.getFirstIndex(), journal.getLastIndex());
+    }
+
+    /**
+     * Replay a range of records, waiting for capacity in the ring buffer as required.
+     *
+     * @param ringBuffer to publish to.
+     * @param fromIndex  of the first record to replay.
+     * @param toIndex    of the last record to replay, inclusive.
+     * @return the number of events published.
+     * @throws IOException if the journal cannot be read.
+     */
+    public long replay(final RingBuffer<T> ringBuffer, final long fromIndex, final long toIndex) throws IOException
+    {
+        return journal.read(fromIndex, toIndex, (index, payload) ->
+        {
+            final long sequence = ringBuffer.next();
+            try
+            {
+                serializer.deserialize(payload, ringBuffer.get(sequence));
+            }
+            finally
+            {
+                journal.markReplayed(sequence);
+                ringBuffer.publish(sequence);
+            }
+        });
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.journal;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.LifecycleAware;
+
+/**
+ * <p>An {@link EventHandler} that appends each event to a {@link Journal}, committing the journal at the end
+ * of every batch, so that a single force covers all the events published while the previous one was
+ * in progress.</p>
+ *
+ * <p>To have events durable before business logic sees them, place the journaling handler ahead of it:</p>
+ * <pre>
+ * disruptor.handleEventsWith(new JournalingEventHandler&lt;&gt;(journal, serializer)).then(businessLogicHandler);
+ * </pre>
+ *
+ * <p>Events republished by a {@link JournalReplayer} for the same journal are already in it and are skipped.</p>
+ *
+ * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+public final class JournalingEventHandler<T> implements EventHandler<T>, LifecycleAware
+{
+    private final Journal journal;
+    private final EventSerializer<? super T> serializer;
+
+    /**
+     * @param journal    to append events to.
+     * @param serializer to write events with.
+     */
+    public JournalingEventHandler(final Journal journal, final EventSerializer<? super T> serializer)
+    {
+        this.journal = journal;
+        this.serializer = serializer;
+    }
+
+    @Override
+    public void onEvent(final T event, final long sequence, final boolean endOfBatch) throws Exception
+    {
+        if (!journal.isReplayed(sequence))
+        {
+            journal.append(event, serializer);
+        }
+
+        if (endOfBatch)
+        {
+            journal.commit();
+        }
+    }
+
+    @Override
+    public void onStart()
+    {
+    }
+
+    @Override
+    public void onShutdown()
+    {
+        journal.commit();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "JournalingEventHandler{" +
+            "journal=" + journal +
+            '}';
+    }
+}
@@ -90,27 +90,31 @@ public final class Util
         return sequences;
     }
 
-    private static final Unsafe THE_UNSAFE;
-
-    static
+    // Loaded on first use only, the Disruptor itself no longer uses Unsafe
+    private static final class UnsafeHolder
     {
-        try
+        private static final Unsafe THE_UNSAFE;
+
+        static
         {
-            final PrivilegedExceptionAction<Unsafe> action = new PrivilegedExceptionAction<Unsafe>()
+            try
             {
-                public Unsafe run() throws Exception
+                final PrivilegedExceptionAction<Unsafe> action = new PrivilegedExceptionAction<Unsafe>()
                 {
-                    Field theUnsafe = Unsafe.class.getDeclaredField("theUnsafe");
-                    theUnsafe.setAccessible(true);
-                    return (Unsafe) theUnsafe.get(null);
-                }
-            };
+                    public Unsafe run() throws Exception
+                    {
+                        Field theUnsafe = Unsafe.class.getDeclaredField("theUnsafe");
+                        theUnsafe.setAccessible(true);
+                        return (Unsafe) theUnsafe.get(null);
+                    }
+                };
 
-            THE_UNSAFE = AccessController.doPrivileged(action);
-        }
-        catch (Exception e)
-        {
-            throw new RuntimeException("Unable to load unsafe", e);
+                THE_UNSAFE = AccessController.doPrivileged(action);
+            }
+            catch (Exception e)
+            {
+                throw new RuntimeException("Unable to load unsafe", e);
+            }
         }
     }
 
@@ -118,11 +122,13 @@ public final class Util
      * Get a handle on the Unsafe instance, used for accessing low-level concurrency
      * and memory constructs.
      *
+     * @deprecated The Disruptor uses {@link java.lang.invoke.VarHandle}s instead, which should be preferred.
      * @return The Unsafe
      */
+    @Deprecated
     public static Unsafe getUnsafe()
     {
-        return THE_UNSAFE;
+        return UnsafeHolder.THE_UNSAFE;
     }
 
     /**